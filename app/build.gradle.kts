@@ -1,6 +1,7 @@
 plugins {
     alias(libs.plugins.android.application)
     alias(libs.plugins.google.gms.google.services)
+    alias(libs.plugins.baselineprofile)
 
 }
 
@@ -33,6 +34,10 @@ android {
     buildFeatures {
         viewBinding = true
     }
+    testOptions {
+        // android.util.Log is called from code under unit test
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 
@@ -47,7 +52,14 @@ dependencies {
     implementation(libs.firebase.auth)
     implementation(libs.activity)
     implementation(libs.firebase.firestore)
+    implementation(libs.recyclerview)
+    implementation(libs.lifecycle.livedata)
+    implementation(libs.work.runtime)
+    // Installs the baseline profile on sideloaded and older-Play installs
+    implementation(libs.profileinstaller)
+    baselineProfile(project(":benchmark"))
     testImplementation(libs.junit)
+    testImplementation(libs.core.testing)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 
@@ -0,0 +1,76 @@
+package com.example.mygamedemo;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.fragment.app.FragmentManager;
+import androidx.navigation.fragment.NavHostFragment;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.runner.lifecycle.ActivityLifecycleMonitorRegistry;
+import androidx.test.runner.lifecycle.Stage;
+
+import com.google.firebase.auth.FirebaseAuth;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+// Launch time of the tab host and the cost of every bottom-menu tap, which must stay inside the
+// one activity with a bounded back stack. Needs a signed-in user on the device.
+@RunWith(AndroidJUnit4.class)
+public class MainActivityNavigationBenchmarkTest {
+    private static final int ROUNDS = 20;
+    private static final int[] MENUS = {R.id.menu_expense, R.id.menu_income, R.id.menu_chart,
+            R.id.menu_setting, R.id.menu_home};
+
+    @Test
+    public void tabSwitches_stayInOneActivity() {
+        assumeTrue(FirebaseAuth.getInstance().getCurrentUser() != null);
+
+        long launchStart = SystemClock.elapsedRealtime();
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            long launchMs = SystemClock.elapsedRealtime() - launchStart;
+            long[] nanos = new long[ROUNDS * MENUS.length];
+            int[] backStack = new int[1];
+
+            scenario.onActivity(activity -> {
+                NavHostFragment navHost = (NavHostFragment) activity.getSupportFragmentManager()
+                        .findFragmentById(R.id.nav_host_fragment);
+                FragmentManager fragments = navHost.getChildFragmentManager();
+                int n = 0;
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (int menu : MENUS) {
+                        long start = System.nanoTime();
+                        activity.findViewById(menu).performClick();
+                        fragments.executePendingTransactions();
+                        nanos[n++] = System.nanoTime() - start;
+                        backStack[0] = Math.max(backStack[0], fragments.getBackStackEntryCount());
+                    }
+                }
+            });
+
+            int[] resumed = new int[1];
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+                Collection<Activity> activities = ActivityLifecycleMonitorRegistry.getInstance()
+                        .getActivitiesInStage(Stage.RESUMED);
+                resumed[0] = activities.size();
+            });
+
+            Arrays.sort(nanos);
+            Log.i("NavigationBenchmark", "launch " + launchMs + " ms, tab switch median "
+                    + nanos[nanos.length / 2] / 1000 + " us, p90 " + nanos[nanos.length * 9 / 10] / 1000
+                    + " us, max back stack " + backStack[0]);
+            assertEquals(1, resumed[0]);
+            // The start tab plus the current one
+            assertTrue("back stack " + backStack[0], backStack[0] <= 1);
+        }
+    }
+}
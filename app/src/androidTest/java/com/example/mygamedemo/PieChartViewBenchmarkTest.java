@@ -0,0 +1,53 @@
+package com.example.mygamedemo;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+// Times PieChartView.onDraw and counts the Java allocations it makes
+@RunWith(AndroidJUnit4.class)
+public class PieChartViewBenchmarkTest {
+    private static final int WARMUP_FRAMES = 200;
+    private static final int FRAMES = 2000;
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void onDraw_allocatesNothingPerFrame() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            PieChartView view = new PieChartView(InstrumentationRegistry.getInstrumentation().getTargetContext());
+            view.layout(0, 0, 800, 800);
+            view.setData(40000, 100000);
+            Canvas canvas = new Canvas(Bitmap.createBitmap(800, 800, Bitmap.Config.ARGB_8888));
+            long[] frameNanos = new long[FRAMES];
+
+            for (int i = 0; i < WARMUP_FRAMES; i++) {
+                view.onDraw(canvas);
+            }
+            Debug.resetThreadAllocCount();
+            Debug.startAllocCounting();
+            for (int i = 0; i < FRAMES; i++) {
+                long start = System.nanoTime();
+                view.onDraw(canvas);
+                frameNanos[i] = System.nanoTime() - start;
+            }
+            Debug.stopAllocCounting();
+            int allocations = Debug.getThreadAllocCount();
+
+            Arrays.sort(frameNanos);
+            Log.i("PieChartViewBenchmark", "onDraw median " + frameNanos[FRAMES / 2] / 1000 + " us, p90 "
+                    + frameNanos[FRAMES * 9 / 10] / 1000 + " us, allocations " + allocations);
+            assertEquals(0, allocations);
+        });
+    }
+}
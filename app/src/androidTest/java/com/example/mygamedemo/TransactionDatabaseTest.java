@@ -0,0 +1,209 @@
+package com.example.mygamedemo;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class TransactionDatabaseTest {
+    private static final String UID = "instrumented-test";
+
+    private Context context;
+    private TransactionDatabase database;
+    private long december;
+    private long january;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase("transactions_" + UID + ".db");
+        database = new TransactionDatabase(context, UID);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2024, Calendar.DECEMBER, 15, 12, 0);
+        december = calendar.getTimeInMillis();
+        calendar.set(2025, Calendar.JANUARY, 15, 12, 0);
+        january = calendar.getTimeInMillis();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase("transactions_" + UID + ".db");
+    }
+
+    @Test
+    public void totals_followInsertsUpdatesAndDeletes() {
+        database.put(new TransactionModel("1", "Salary", 100000, TransactionType.INCOME, december));
+        database.put(new TransactionModel("2", "Rent", 40000, TransactionType.EXPENSE, december));
+        database.put(new TransactionModel("3", "Food", 5000, TransactionType.EXPENSE, january));
+
+        assertTotals(100000, 45000, database.getTotals());
+        assertTotals(100000, 40000, database.getMonthTotals(202412));
+        assertTotals(0, 5000, database.getMonthTotals(202501));
+
+        // Moving a row to another month and changing its amount
+        database.put(new TransactionModel("2", "Rent", 42000, TransactionType.EXPENSE, january));
+        assertTotals(100000, 47000, database.getTotals());
+        assertTotals(100000, 0, database.getMonthTotals(202412));
+        assertTotals(0, 47000, database.getMonthTotals(202501));
+
+        database.remove("1");
+        assertTotals(0, 47000, database.getTotals());
+        assertTotals(0, 0, database.getMonthTotals(202412));
+    }
+
+    @Test
+    public void totals_followSyncedChanges() {
+        database.put(new TransactionModel("1", "Salary", 100000, TransactionType.INCOME, december));
+        TransactionModel tombstone = new TransactionModel("1", null, 0, TransactionType.EXPENSE, 0);
+        tombstone.setDeleted(true);
+
+        database.applyChanges(Arrays.asList(
+                tombstone,
+                new TransactionModel("2", "Gift", 3000, TransactionType.INCOME, january)), 42);
+
+        assertTotals(3000, 0, database.getTotals());
+        assertEquals(42, database.getSyncWatermark());
+    }
+
+    @Test
+    public void getPage_walksNewestFirst() {
+        for (int i = 0; i < 5; i++) {
+            database.put(new TransactionModel("id" + i, "note", 100, TransactionType.EXPENSE, december + i));
+        }
+
+        TransactionModel last = database.getPage(null, 3).get(2);
+        assertEquals("id2", last.getId());
+        assertEquals("id1", database.getPage(last, 3).get(0).getId());
+        assertEquals(2, database.getPage(last, 3).size());
+    }
+
+    @Test
+    public void outbox_keepsLatestEditPerRowUntilSynced() {
+        database.queuePut(new TransactionModel("1", "Lunch", 5000, TransactionType.EXPENSE, december));
+        database.queuePut(new TransactionModel("2", "Taxi", 2000, TransactionType.EXPENSE, december));
+        database.queueDelete("2");
+        assertTrue(database.get("1").isPending());
+
+        List<OutboxEntry> outbox = database.getOutbox(10);
+        assertEquals(2, outbox.size());
+        assertEquals("Lunch", outbox.get(0).getModel().getNote());
+        assertTrue(outbox.get(1).isDelete());
+
+        // Edited again while the first upload was in flight
+        database.queuePut(new TransactionModel("1", "Dinner", 8000, TransactionType.EXPENSE, december));
+        database.markSynced(outbox);
+        assertEquals(1, database.getOutbox(10).size());
+        assertEquals("Dinner", database.getOutbox(10).get(0).getModel().getNote());
+
+        // A remote change cannot overwrite the queued edit
+        database.applyChanges(Collections.singletonList(
+                new TransactionModel("1", "Lunch", 5000, TransactionType.EXPENSE, december)), 42);
+        assertEquals("Dinner", database.get("1").getNote());
+
+        database.markSynced(database.getOutbox(10));
+        assertFalse(database.get("1").isPending());
+    }
+
+    @Test
+    public void aggregates_builtFromScanAndKeptCurrentByRowObserver() {
+        database.put(new TransactionModel("1", "Rent", 40000, TransactionType.EXPENSE, december, "Home"));
+        database.put(new TransactionModel("2", "Lunch", 5000, TransactionType.EXPENSE, december, "Food"));
+        TransactionAggregates aggregates = TransactionAggregates.build(TransactionTable.build(database));
+        database.setRowObserver(aggregates);
+
+        database.queuePut(new TransactionModel("3", "Dinner", 7000, TransactionType.EXPENSE, january, "Food"));
+        database.queueDelete("1");
+        database.applyChanges(Collections.singletonList(
+                new TransactionModel("4", "Salary", 100000, TransactionType.INCOME, january, "Work")), 42);
+
+        List<CategoryTotal> totals = aggregates.getCategoryTotals(TransactionType.EXPENSE, december, january);
+        assertEquals(1, totals.size());
+        assertEquals(12000, totals.get(0).getAmount());
+        assertTotals(100000, 7000, aggregates.getTotals(january, january));
+        assertTotals(database.getTotals().getIncome(), database.getTotals().getExpense(),
+                aggregates.getTotals(december, january));
+    }
+
+    @Test
+    public void typedPages_useTheTypeTimestampIndex() {
+        for (int i = 0; i < 5; i++) {
+            database.put(new TransactionModel("e" + i, "Lunch", 100, TransactionType.EXPENSE, december + i));
+            database.put(new TransactionModel("i" + i, "Salary", 100, TransactionType.INCOME, december + i));
+        }
+
+        List<TransactionModel> first = database.getPage(TransactionType.INCOME, null, 3);
+        List<TransactionModel> second = database.getPage(TransactionType.INCOME, first.get(2), 3);
+
+        assertEquals(Arrays.asList("i4", "i3", "i2"), ids(first));
+        assertEquals(Arrays.asList("i1", "i0"), ids(second));
+        try (Cursor plan = database.getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN SELECT id FROM transactions "
+                + "WHERE type = ? AND (timestamp < ? OR (timestamp = ? AND id < ?)) "
+                + "ORDER BY timestamp DESC, id DESC LIMIT 3", new String[]{"1", "5", "5", "x"})) {
+            StringBuilder detail = new StringBuilder();
+            while (plan.moveToNext()) {
+                detail.append(plan.getString(plan.getColumnCount() - 1)).append('\n');
+            }
+            assertTrue(detail.toString(), detail.toString().contains("idx_transactions_type_timestamp"));
+            assertFalse(detail.toString(), detail.toString().contains("TEMP B-TREE"));
+        }
+    }
+
+    @Test
+    public void categoryPages_useTheTypeCategoryTimestampIndex() {
+        for (int i = 0; i < 4; i++) {
+            database.put(new TransactionModel("f" + i, "Lunch", 100, TransactionType.EXPENSE, december + i, "Food"));
+            database.put(new TransactionModel("h" + i, "Rent", 100, TransactionType.EXPENSE, december + i, " Home "));
+            database.put(new TransactionModel("n" + i, "Misc", 100, TransactionType.EXPENSE, december + i, ""));
+        }
+        database.put(new TransactionModel("h1", "Rent", 100, TransactionType.EXPENSE, december + 1, "Food"));
+
+        List<TransactionModel> first = database.getCategoryPage(TransactionType.EXPENSE, "Food", null, 3);
+        List<TransactionModel> second = database.getCategoryPage(TransactionType.EXPENSE, "Food", first.get(2), 3);
+
+        assertEquals(Arrays.asList("f3", "f2", "h1"), ids(first));
+        assertEquals(Arrays.asList("f1", "f0"), ids(second));
+        assertEquals(Arrays.asList("n3", "n2", "n1", "n0"),
+                ids(database.getCategoryPage(TransactionType.EXPENSE, null, null, 10)));
+        assertTrue(database.getCategoryPage(TransactionType.INCOME, "Food", null, 10).isEmpty());
+        assertEquals(Arrays.asList("Food", "Home"), database.getCategories());
+        try (Cursor plan = database.getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN SELECT id FROM transactions "
+                + "WHERE type = ? AND category_id = (SELECT id FROM categories WHERE name = ?) "
+                + "ORDER BY timestamp DESC, id DESC LIMIT 3", new String[]{"0", "Food"})) {
+            StringBuilder detail = new StringBuilder();
+            while (plan.moveToNext()) {
+                detail.append(plan.getString(plan.getColumnCount() - 1)).append('\n');
+            }
+            assertTrue(detail.toString(), detail.toString().contains("idx_transactions_type_category_timestamp"));
+            assertFalse(detail.toString(), detail.toString().contains("TEMP B-TREE"));
+        }
+    }
+
+    private static List<String> ids(List<TransactionModel> models) {
+        String[] ids = new String[models.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = models.get(i).getId();
+        }
+        return Arrays.asList(ids);
+    }
+
+    private static void assertTotals(long income, long expense, TransactionTotals totals) {
+        assertEquals(income, totals.getIncome());
+        assertEquals(expense, totals.getExpense());
+    }
+}
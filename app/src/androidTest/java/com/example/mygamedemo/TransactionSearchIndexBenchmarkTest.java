@@ -0,0 +1,63 @@
+package com.example.mygamedemo;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+// Type-ahead latency on a large history: every keystroke of a few queries, timed one by one
+@RunWith(AndroidJUnit4.class)
+public class TransactionSearchIndexBenchmarkTest {
+    private static final int TRANSACTIONS = 50_000;
+    private static final int LIMIT = 100;
+    private static final long FRAME_MS = 16;
+    private static final String[] WORDS = {"Cà phê", "Phở bò", "Bún chả", "Tiền điện", "Tiền nước", "Internet",
+            "Grab", "Xăng xe", "Đi chợ", "Lương", "Thưởng", "Quà sinh nhật", "Sách", "Xem phim", "Gym"};
+    private static final String[] QUERIES = {"ca phe", "tien dien", "120", "05/01/2024", "xang xe 3"};
+
+    @Test
+    public void typeAhead_staysWithinAFrame() {
+        Random random = new Random(42);
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        long start = SystemClock.elapsedRealtime();
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            timestamp -= random.nextInt(3_600_000);
+            String note = WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(100);
+            TransactionType type = random.nextInt(5) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            index.onRowChanged(null, new TransactionModel("id" + i, note, 1000 + random.nextInt(10_000_000),
+                    type, timestamp));
+        }
+        // The first query also sorts the tokens added since the last one, as build() does
+        index.search("a", null, LIMIT);
+        long buildMs = SystemClock.elapsedRealtime() - start;
+
+        int keystrokes = 0;
+        for (String query : QUERIES) {
+            keystrokes += query.length();
+        }
+        long[] nanos = new long[keystrokes];
+        int n = 0;
+        for (String query : QUERIES) {
+            for (int end = 1; end <= query.length(); end++) {
+                long queryStart = System.nanoTime();
+                index.search(query.substring(0, end), null, LIMIT);
+                nanos[n++] = System.nanoTime() - queryStart;
+            }
+        }
+
+        Arrays.sort(nanos);
+        long p90Ms = nanos[keystrokes * 9 / 10] / 1_000_000;
+        Log.i("SearchIndexBenchmark", "build " + buildMs + " ms, median " + nanos[keystrokes / 2] / 1000
+                + " us, p90 " + p90Ms + " ms, max " + nanos[keystrokes - 1] / 1000 + " us");
+        assertTrue("p90 " + p90Ms + " ms", p90Ms < FRAME_MS);
+    }
+}
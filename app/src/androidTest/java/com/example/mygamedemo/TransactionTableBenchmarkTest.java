@@ -0,0 +1,52 @@
+package com.example.mygamedemo;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+// Full-range totals, a category group-by and a monthly trend over a large history, each a plain
+// loop over the columns. Repeated so the JIT has compiled the loops before they are timed.
+@RunWith(AndroidJUnit4.class)
+public class TransactionTableBenchmarkTest {
+    private static final int TRANSACTIONS = 100_000;
+    private static final int ROUNDS = 20;
+    private static final long BUDGET_MS = 10;
+    private static final String[] CATEGORIES = {"Food", "Home", "Transport", "Bills", "Shopping", "Health",
+            "Salary", "Bonus", "Gifts", "Education"};
+
+    @Test
+    public void aggregation_takesSingleDigitMilliseconds() {
+        Random random = new Random(42);
+        TransactionTable table = new TransactionTable();
+        long timestamp = 1_600_000_000_000L;
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            timestamp += random.nextInt(3_600_000);
+            TransactionType type = random.nextInt(5) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            table.visit(timestamp, type, 1000 + random.nextInt(10_000_000), CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        }
+
+        long[] nanos = new long[ROUNDS];
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            checksum += table.getTotals(Long.MIN_VALUE, Long.MAX_VALUE).getExpense();
+            checksum += table.getCategoryTotals(TransactionType.EXPENSE, Long.MIN_VALUE, Long.MAX_VALUE).size();
+            checksum += TrendAggregator.aggregate(table, TrendGranularity.MONTH).getIncome().size();
+            nanos[round] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(nanos);
+        long medianMs = nanos[ROUNDS / 2] / 1_000_000;
+        Log.i("TransactionTableBenchmark", "median " + nanos[ROUNDS / 2] / 1000 + " us, max "
+                + nanos[ROUNDS - 1] / 1000 + " us, checksum " + checksum);
+        assertTrue("median " + medianMs + " ms", medianMs < BUDGET_MS);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.mygamedemo;
+
+import android.widget.ArrayAdapter;
+import android.widget.AutoCompleteTextView;
+import android.widget.Toast;
+
+import java.util.List;
+
+// Category field of the add and edit screens: the user's categories first, then the defaults
+public final class CategoryPicker {
+
+    private CategoryPicker() {
+    }
+
+    public static void bind(AutoCompleteTextView field, TransactionRepository repository) {
+        field.setOnClickListener(v -> field.showDropDown());
+        repository.getCategories(new TransactionRepository.Callback<List<String>>() {
+            @Override
+            public void onSuccess(List<String> categories) {
+                field.setAdapter(new ArrayAdapter<>(field.getContext(),
+                        android.R.layout.simple_dropdown_item_1line, TransactionCategories.suggestions(categories)));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Toast.makeText(field.getContext(), e.getMessage(), Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.mygamedemo;
+
+// Sum of one type of transaction within a category
+public class CategoryTotal {
+    private final String category;
+    private final long amount;
+
+    // category is null for transactions without one
+    public CategoryTotal(String category, long amount) {
+        this.category = category;
+        this.amount = amount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.mygamedemo;
+
+import android.os.Bundle;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ChartFragment extends Fragment {
+    // Khoá lưu lựa chọn của màn hình khi chuyển sang tab khác
+    private static final String STATE_RANGE_FROM = "rangeFrom";
+    private static final String STATE_RANGE_TO = "rangeTo";
+    private static final String STATE_SHOWN_TYPE = "shownType";
+    private static final String STATE_GRANULARITY = "trendGranularity";
+    // Số giao dịch gần nhất hiện khi chạm vào một danh mục
+    private static final int CATEGORY_PAGE_SIZE = 5;
+
+    private PieChartView pieChartView;
+    private TrendChartView trendChartView;
+    private TrendGranularity trendGranularity = TrendGranularity.MONTH;
+    // Khoảng thời gian đang lọc, mặc định toàn bộ
+    private long rangeFrom = Long.MIN_VALUE;
+    private long rangeTo = Long.MAX_VALUE;
+    // Loại đang hiển thị theo danh mục, null khi xem cả thu và chi
+    private TransactionType shownType;
+    // Nhãn lát bánh -> tên danh mục (null là chưa phân loại); lát "Other" không có trong đây
+    private final Map<String, String> sliceCategories = new HashMap<>();
+    private TransactionRepository transactionRepository;
+    private TransactionCache transactionCache;
+
+    private long totalIncome = 0;
+    private long totalExpense = 0;
+
+    private TextView totalBalance, incomeAmount, expenseAmount, sectionDetail;
+    private Button btnIncome, btnExpense, btnReset;
+
+    @Override
+    public void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        if (savedInstanceState != null) {
+            rangeFrom = savedInstanceState.getLong(STATE_RANGE_FROM);
+            rangeTo = savedInstanceState.getLong(STATE_RANGE_TO);
+            String type = savedInstanceState.getString(STATE_SHOWN_TYPE);
+            shownType = type != null ? TransactionType.valueOf(type) : null;
+            trendGranularity = TrendGranularity.valueOf(savedInstanceState.getString(STATE_GRANULARITY));
+        }
+    }
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_chart, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        transactionRepository = RepositoryProvider.transactions(requireContext());
+        transactionCache = RepositoryProvider.cache(requireContext());
+
+        // Khởi tạo View
+        pieChartView = view.findViewById(R.id.pieChartView);
+        trendChartView = view.findViewById(R.id.trendChartView);
+        btnIncome = view.findViewById(R.id.btn_income);
+        btnExpense = view.findViewById(R.id.btn_expense);
+        btnReset = view.findViewById(R.id.btn_reset); // Nút Reset mới
+        totalBalance = view.findViewById(R.id.totalBalance);
+        incomeAmount = view.findViewById(R.id.incomeAmount);
+        expenseAmount = view.findViewById(R.id.expenseAmount);
+        sectionDetail = view.findViewById(R.id.sectionDetail);
+
+        // Tổng thu chi lấy từ bộ nhớ đệm dùng chung, được cập nhật khi dữ liệu thay đổi
+        transactionCache.getTotals().observe(getViewLifecycleOwner(), totals -> loadData());
+
+        pieChartView.setOnSliceClickListener(new PieChartView.OnSliceClickListener() {
+            @Override
+            public void onSliceClick(ChartSlice slice) {
+                sectionDetail.setVisibility(View.VISIBLE);
+                sectionDetail.setText(slice.getLabel() + ": " + Money.format(slice.getValue()));
+                // Đang xem theo danh mục: liệt kê các giao dịch mới nhất của danh mục được chọn
+                if (shownType != null && sliceCategories.containsKey(slice.getLabel())) {
+                    showCategoryTransactions(shownType, sliceCategories.get(slice.getLabel()), slice);
+                }
+            }
+        });
+
+        setupButtonListeners();
+        // Trở lại tab: hiện lại đúng chế độ xem đã chọn
+        if (shownType == TransactionType.INCOME) {
+            showIncomeView();
+        } else if (shownType == TransactionType.EXPENSE) {
+            showExpenseView();
+        }
+    }
+
+    @Override
+    public void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putLong(STATE_RANGE_FROM, rangeFrom);
+        outState.putLong(STATE_RANGE_TO, rangeTo);
+        outState.putString(STATE_SHOWN_TYPE, shownType != null ? shownType.name() : null);
+        outState.putString(STATE_GRANULARITY, trendGranularity.name());
+    }
+
+    private void setupButtonListeners() {
+        btnIncome.setOnClickListener(v -> showIncomeView());
+        btnExpense.setOnClickListener(v -> showExpenseView());
+        btnReset.setOnClickListener(v -> resetChartView()); // Listener cho nút Reset
+        requireView().findViewById(R.id.btn_range_all).setOnClickListener(v -> setRange(Long.MIN_VALUE, Long.MAX_VALUE));
+        requireView().findViewById(R.id.btn_range_month).setOnClickListener(v -> {
+            long now = System.currentTimeMillis();
+            setRange(TransactionPeriods.startOfMonth(now), now);
+        });
+        requireView().findViewById(R.id.btn_range_30_days).setOnClickListener(v -> {
+            long now = System.currentTimeMillis();
+            setRange(TransactionPeriods.startOfLastDays(now, 30), now);
+        });
+        requireView().findViewById(R.id.btn_trend_day).setOnClickListener(v -> loadTrend(TrendGranularity.DAY));
+        requireView().findViewById(R.id.btn_trend_week).setOnClickListener(v -> loadTrend(TrendGranularity.WEEK));
+        requireView().findViewById(R.id.btn_trend_month).setOnClickListener(v -> loadTrend(TrendGranularity.MONTH));
+        // Chờ view có kích thước để biết cần bao nhiêu điểm
+        trendChartView.post(() -> loadTrend(trendGranularity));
+    }
+
+    private void setRange(long from, long to) {
+        rangeFrom = from;
+        rangeTo = to;
+        loadData();
+        if (shownType != null) {
+            showCategories(shownType);
+        }
+    }
+
+    private void loadTrend(TrendGranularity granularity) {
+        trendGranularity = granularity;
+        // Gom nhóm và giảm số điểm chạy trên luồng nền của repository
+        transactionRepository.getTrend(granularity, trendChartView.getMaxPoints(),
+                new TransactionRepository.Callback<TrendAggregator.Trend>() {
+                    @Override
+                    public void onSuccess(TrendAggregator.Trend trend) {
+                        if (trendGranularity == granularity) {
+                            trendChartView.setTrend(trend);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        Log.e("ChartFragment", "Không thể tải xu hướng: " + e);
+                    }
+                });
+    }
+
+    private void showIncomeView() {
+        // Hiển thị Income
+        incomeAmount.setVisibility(View.VISIBLE);
+        requireView().findViewById(R.id.incomePercentage).setVisibility(View.VISIBLE);
+
+        // Ẩn Expense
+        expenseAmount.setVisibility(View.GONE);
+        requireView().findViewById(R.id.expensePercentage).setVisibility(View.GONE);
+
+        // Cập nhật Total Balance, biểu đồ chia theo danh mục thu nhập
+        totalBalance.setText("Total Balance: " + Money.format(totalIncome));
+        showCategories(TransactionType.INCOME);
+    }
+
+    private void showExpenseView() {
+        // Hiển thị Expense
+        expenseAmount.setVisibility(View.VISIBLE);
+        requireView().findViewById(R.id.expensePercentage).setVisibility(View.VISIBLE);
+
+        // Ẩn Income
+        incomeAmount.setVisibility(View.GONE);
+        requireView().findViewById(R.id.incomePercentage).setVisibility(View.GONE);
+
+        // Cập nhật Total Balance, biểu đồ chia theo danh mục chi tiêu
+        totalBalance.setText("Total Balance: " + Money.format(totalExpense));
+        showCategories(TransactionType.EXPENSE);
+    }
+
+    private void resetChartView() {
+        shownType = null;
+        // Hiển thị cả Income và Expense
+        incomeAmount.setVisibility(View.VISIBLE);
+        requireView().findViewById(R.id.incomePercentage).setVisibility(View.VISIBLE);
+        expenseAmount.setVisibility(View.VISIBLE);
+        requireView().findViewById(R.id.expensePercentage).setVisibility(View.VISIBLE);
+
+        // Cập nhật PieChartView với cả Income và Expense
+        pieChartView.setData(totalExpense, totalIncome); // Ghi dữ liệu tổng chi tiêu và thu nhập
+
+        // Cập nhật tổng số dư
+        totalBalance.setText("Total Balance: " + Money.format(totalIncome - totalExpense));
+    }
+
+    // Mỗi danh mục một lát; các danh mục nhỏ được gộp vào "Other"
+    private void showCategories(TransactionType type) {
+        shownType = type;
+        sectionDetail.setText("");
+        long from = rangeFrom;
+        long to = rangeTo;
+        transactionRepository.getCategoryTotals(type, from, to, new TransactionRepository.Callback<List<CategoryTotal>>() {
+            @Override
+            public void onSuccess(List<CategoryTotal> totals) {
+                // Bỏ kết quả cũ nếu người dùng đã đổi loại hoặc khoảng thời gian
+                if (shownType != type || rangeFrom != from || rangeTo != to) {
+                    return;
+                }
+                List<ChartSlice> slices = new ArrayList<>(totals.size());
+                sliceCategories.clear();
+                for (CategoryTotal total : totals) {
+                    String label = total.getCategory() != null ? total.getCategory() : "Uncategorized";
+                    slices.add(new ChartSlice(label, total.getAmount()));
+                    sliceCategories.put(label, total.getCategory());
+                }
+                pieChartView.setSlices(slices);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Log.e("ChartFragment", "Không thể tải danh mục: " + e);
+            }
+        });
+    }
+
+    // Một trang theo chỉ mục (type, category, timestamp), không phải duyệt toàn bộ giao dịch
+    private void showCategoryTransactions(TransactionType type, String category, ChartSlice slice) {
+        transactionRepository.loadCategoryPage(type, category, null, CATEGORY_PAGE_SIZE,
+                new TransactionRepository.Callback<List<TransactionModel>>() {
+                    @Override
+                    public void onSuccess(List<TransactionModel> page) {
+                        // Người dùng đã chuyển sang loại khác trong lúc chờ
+                        if (shownType != type || !sliceCategories.containsKey(slice.getLabel())) {
+                            return;
+                        }
+                        StringBuilder detail = new StringBuilder(slice.getLabel())
+                                .append(": ").append(Money.format(slice.getValue()));
+                        for (TransactionModel model : page) {
+                            detail.append('\n').append(TransactionDates.format(model.getTimestamp()))
+                                    .append("  ").append(model.getNote() != null ? model.getNote() : "")
+                                    .append("  ").append(Money.format(model.getAmount()));
+                        }
+                        sectionDetail.setText(detail);
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        Log.e("ChartFragment", "Không thể tải giao dịch của danh mục: " + e);
+                    }
+                });
+    }
+
+    private void loadData() {
+        if (rangeFrom == Long.MIN_VALUE && rangeTo == Long.MAX_VALUE) {
+            // Tổng thu chi được cập nhật sẵn, không cần duyệt lại toàn bộ giao dịch
+            TransactionTotals totals = transactionCache.getTotals().getValue();
+            if (totals != null) {
+                updatePieChartView(totals);
+            }
+            return;
+        }
+        // Tổng theo ngày đã gom sẵn, mỗi khoảng chỉ là hai lần tra tổng tiền tố
+        long from = rangeFrom;
+        long to = rangeTo;
+        transactionRepository.getRangeTotals(from, to, new TransactionRepository.Callback<TransactionTotals>() {
+            @Override
+            public void onSuccess(TransactionTotals totals) {
+                // Khoảng đã đổi trong lúc chờ: kết quả này không còn đúng
+                if (rangeFrom != from || rangeTo != to) {
+                    return;
+                }
+                updatePieChartView(totals);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Log.e("ChartFragment", "Không thể tải dữ liệu: " + e);
+            }
+        });
+    }
+
+    private void updatePieChartView(TransactionTotals totals) {
+        // Cập nhật tổng thu nhập và chi tiêu
+        totalIncome = totals.getIncome();
+        totalExpense = totals.getExpense();
+
+        // Hiển thị tổng thu nhập và chi tiêu
+        incomeAmount.setText("Income: " + Money.format(totalIncome));
+        expenseAmount.setText("Expense: " + Money.format(totalExpense));
+        totalBalance.setText("Total Balance: " + Money.format(totals.getBalance()));
+
+        // Cập nhật PieChart với dữ liệu mới, trừ khi đang xem theo danh mục
+        if (shownType == null) {
+            pieChartView.setData(totalExpense, totalIncome);
+        } else {
+            totalBalance.setText("Total Balance: "
+                    + Money.format(shownType == TransactionType.INCOME ? totalIncome : totalExpense));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.mygamedemo;
+
+// One weighted slice of a pie chart. A color of 0 means "pick from the chart palette".
+public class ChartSlice {
+    private final String label;
+    private final long value;
+    private final int color;
+
+    public ChartSlice(String label, long value, int color) {
+        this.label = label;
+        this.value = value;
+        this.color = color;
+    }
+
+    public ChartSlice(String label, long value) {
+        this(label, value, 0);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public int getColor() {
+        return color;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.mygamedemo;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.mygamedemo.databinding.FragmentDashboardBinding;
+
+import java.util.List;
+
+public class DashboardFragment extends Fragment {
+    // Bắt đầu tải trang tiếp theo khi còn cách cuối danh sách chừng này dòng
+    private static final int PREFETCH_DISTANCE = 10;
+    private static final int SEARCH_LIMIT = 100;
+
+    FragmentDashboardBinding binding;
+    TransactionRepository transactionRepository;
+
+    TransactionCache transactionCache;
+    TransactionAdapter transactionAdapter;
+    // Ô tìm kiếm đang có chữ thì danh sách hiện kết quả tìm thay vì lịch sử
+    String searchQuery = "";
+    // Chỉ báo khởi động xong một lần, không phải mỗi khi lịch sử thay đổi
+    boolean fullyDrawnReported;
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        binding = FragmentDashboardBinding.inflate(inflater, container, false);
+        return binding.getRoot();
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        // Chuẩn bị dữ liệu
+        transactionRepository = RepositoryProvider.transactions(requireContext());
+        transactionCache = RepositoryProvider.cache(requireContext());
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        binding.historyRecyclerView.setLayoutManager(layoutManager);
+        binding.historyRecyclerView.setHasFixedSize(true);
+
+        transactionAdapter = new TransactionAdapter(requireContext());
+        binding.historyRecyclerView.setAdapter(transactionAdapter);
+        binding.historyRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (searchQuery.isEmpty() && lastVisible >= transactionAdapter.getItemCount() - PREFETCH_DISTANCE) {
+                    transactionCache.loadMore(null);
+                }
+            }
+        });
+
+        // Lịch sử và tổng thu chi dùng chung cho mọi màn hình, chuyển tab không phải tải lại
+        transactionCache.getHistory(null).observe(getViewLifecycleOwner(), items -> {
+            // Lần đầu có dữ liệu là lúc màn hình khởi động xong, dùng cho đo thời gian khởi động
+            if (!fullyDrawnReported) {
+                fullyDrawnReported = true;
+                requireActivity().reportFullyDrawn();
+            }
+            if (searchQuery.isEmpty()) {
+                transactionAdapter.submitList(items);
+            } else {
+                // Dữ liệu vừa đổi, chạy lại tìm kiếm
+                search();
+            }
+        });
+        transactionCache.getTotals().observe(getViewLifecycleOwner(), totals -> {
+            binding.totalIncome.setText(Money.format(totals.getIncome()));
+            binding.totalExpense.setText(Money.format(totals.getExpense()));
+            binding.totalBalance.setText(Money.format(totals.getBalance()));
+        });
+
+        binding.searchInput.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searchQuery = s.toString().trim();
+                search();
+            }
+        });
+
+        // Các nút nổi
+        binding.addFloatingBtn.setOnClickListener(v -> {
+            startActivity(new Intent(requireContext(), AddTransactionActivity.class));
+        });
+        binding.refreshBtn.setOnClickListener(v -> {
+            loadData(); // Tải lại dữ liệu thay vì tạo lại Activity
+        });
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        binding = null;
+    }
+
+    private void loadData() {
+        // Dữ liệu trên máy đang hiển thị sẵn, chỉ cần đồng bộ với Firestore rồi đọc lại
+        transactionRepository.refresh(new TransactionRepository.Callback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                transactionCache.reload();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Log.e("DashboardFragment", "Error loading data: " + e);
+            }
+        });
+    }
+
+    // Chỉ số tìm kiếm nằm trong bộ nhớ, mỗi lần gõ phím chỉ là một lần tra cứu
+    private void search() {
+        String query = searchQuery;
+        if (query.isEmpty()) {
+            transactionAdapter.submitList(transactionCache.getHistory(null).getValue());
+            return;
+        }
+        transactionRepository.search(query, null, SEARCH_LIMIT, new TransactionRepository.Callback<List<TransactionModel>>() {
+            @Override
+            public void onSuccess(List<TransactionModel> results) {
+                // Bỏ kết quả của chữ đã gõ trước đó
+                if (query.equals(searchQuery)) {
+                    transactionAdapter.submitList(results);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Log.e("DashboardFragment", "Search failed: " + e);
+            }
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.mygamedemo;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// What the dashboard last showed: totals and the top of the history, tagged with the sync
+// watermark of the store it was read from. Stored column by column (all timestamps, then all
+// amounts, ...) so reading it back is a few bulk reads with no per-row parsing or field names.
+public class DashboardSnapshot {
+    private static final int MAGIC = 0x44534E50; // "DSNP"
+    private static final int VERSION = 1;
+    private static final int PENDING = 1;
+    // A snapshot is one page; anything larger is not one of ours
+    private static final int MAX_ROWS = 1000;
+
+    private final long watermark;
+    private final TransactionTotals totals;
+    private final List<TransactionModel> rows;
+
+    public DashboardSnapshot(long watermark, TransactionTotals totals, List<TransactionModel> rows) {
+        this.watermark = watermark;
+        this.totals = totals;
+        this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public TransactionTotals getTotals() {
+        return totals;
+    }
+
+    public List<TransactionModel> getRows() {
+        return rows;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(watermark);
+        out.writeLong(totals.getIncome());
+        out.writeLong(totals.getExpense());
+        out.writeInt(rows.size());
+        for (TransactionModel row : rows) {
+            out.writeLong(row.getTimestamp());
+        }
+        for (TransactionModel row : rows) {
+            out.writeLong(row.getAmount());
+        }
+        for (TransactionModel row : rows) {
+            out.writeByte(row.getType().getCode());
+        }
+        for (TransactionModel row : rows) {
+            out.writeByte(row.isPending() ? PENDING : 0);
+        }
+        for (TransactionModel row : rows) {
+            writeString(out, row.getId());
+        }
+        for (TransactionModel row : rows) {
+            writeString(out, row.getNote());
+        }
+        for (TransactionModel row : rows) {
+            writeString(out, row.getCategory());
+        }
+    }
+
+    // Throws IOException for anything that is not a complete snapshot of this version
+    static DashboardSnapshot readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a dashboard snapshot");
+        }
+        long watermark = in.readLong();
+        TransactionTotals totals = new TransactionTotals(in.readLong(), in.readLong());
+        int count = in.readInt();
+        if (count < 0 || count > MAX_ROWS) {
+            throw new IOException("Bad row count " + count);
+        }
+        long[] timestamps = new long[count];
+        long[] amounts = new long[count];
+        byte[] types = new byte[count];
+        byte[] flags = new byte[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = in.readLong();
+        }
+        for (int i = 0; i < count; i++) {
+            amounts[i] = in.readLong();
+        }
+        in.readFully(types);
+        in.readFully(flags);
+        String[] ids = readStrings(in, count);
+        String[] notes = readStrings(in, count);
+        String[] categories = readStrings(in, count);
+
+        List<TransactionModel> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == null) {
+                throw new IOException("Row " + i + " has no id");
+            }
+            TransactionModel row = new TransactionModel(ids[i], notes[i], amounts[i],
+                    TransactionType.fromCode(types[i]), timestamps[i], categories[i]);
+            row.setPending((flags[i] & PENDING) != 0);
+            rows.add(row);
+        }
+        return new DashboardSnapshot(watermark, totals, rows);
+    }
+
+    // Length-prefixed UTF-8, -1 for null; writeUTF would cap a note at 64 KB
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String[] readStrings(DataInputStream in, int count) throws IOException {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = in.readInt();
+            if (length < -1) {
+                throw new IOException("Bad string length " + length);
+            }
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return values;
+    }
+}
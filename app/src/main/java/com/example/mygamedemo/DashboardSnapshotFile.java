@@ -0,0 +1,67 @@
+package com.example.mygamedemo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+// The dashboard snapshot of one user on disk. It is only a head start for the first frame: a
+// missing, unreadable or outdated file just means the dashboard waits for the local store.
+// Read from the main thread, written and invalidated from the io thread.
+public class DashboardSnapshotFile {
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final File file;
+    // Watermark of the snapshot on disk as far as this process knows, guarded by this
+    private long fileWatermark = UNKNOWN;
+
+    public DashboardSnapshotFile(File file) {
+        this.file = file;
+    }
+
+    // null when there is no usable snapshot
+    public DashboardSnapshot read() {
+        if (!file.exists()) {
+            return null;
+        }
+        // One page of rows is a few KB, a buffered read costs less than mapping the file
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return DashboardSnapshot.readFrom(in);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Replaces the file in one rename, so a reader or a crash never sees half a snapshot
+    public synchronized void write(DashboardSnapshot snapshot) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            snapshot.writeTo(out);
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Could not replace " + file);
+        }
+        fileWatermark = snapshot.getWatermark();
+    }
+
+    // Deletes the snapshot if it was taken before the store reached this watermark
+    public synchronized void invalidateBefore(long watermark) {
+        if (fileWatermark == UNKNOWN) {
+            DashboardSnapshot snapshot = read();
+            if (snapshot == null) {
+                file.delete();
+                return;
+            }
+            fileWatermark = snapshot.getWatermark();
+        }
+        if (fileWatermark < watermark) {
+            file.delete();
+            fileWatermark = UNKNOWN;
+        }
+    }
+}
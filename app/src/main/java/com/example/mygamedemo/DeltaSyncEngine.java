@@ -0,0 +1,55 @@
+package com.example.mygamedemo;
+
+import java.util.concurrent.Executor;
+
+// Pulls only the documents changed since the last sync, so a refresh costs O(changes).
+// Changes are fetched and stored page by page to keep memory bounded on the first full sync.
+public class DeltaSyncEngine {
+    static final int PAGE_SIZE = 500;
+
+    private final TransactionStore store;
+    private final RemoteTransactionSource remote;
+    private final Executor ioExecutor;
+
+    public DeltaSyncEngine(TransactionStore store, RemoteTransactionSource remote, Executor ioExecutor) {
+        this.store = store;
+        this.remote = remote;
+        this.ioExecutor = ioExecutor;
+    }
+
+    // Reports the number of changes applied, on the io executor
+    public void sync(TransactionRepository.Callback<Integer> callback) {
+        ioExecutor.execute(() -> {
+            long watermark = store.getSyncWatermark();
+            fetchPage(watermark, watermark, null, 0, callback);
+        });
+    }
+
+    private void fetchPage(long watermark, long newWatermark, RemoteChangePage previous, int applied,
+                           TransactionRepository.Callback<Integer> callback) {
+        remote.fetchChangedSince(watermark, previous, PAGE_SIZE, new TransactionRepository.Callback<RemoteChangePage>() {
+            @Override
+            public void onSuccess(RemoteChangePage page) {
+                ioExecutor.execute(() -> {
+                    long highest = newWatermark;
+                    for (TransactionModel change : page.getChanges()) {
+                        highest = Math.max(highest, change.getUpdatedAt());
+                    }
+                    int total = applied + page.getChanges().size();
+                    // The full sync is not ordered by updatedAt, so only the last page may move the watermark
+                    store.applyChanges(page.getChanges(), page.isLast() ? highest : watermark);
+                    if (page.isLast()) {
+                        callback.onSuccess(total);
+                    } else {
+                        fetchPage(watermark, highest, page, total, callback);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                callback.onFailure(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.mygamedemo;
+
+public class ExpenseFragment extends TypeHistoryFragment {
+
+    @Override
+    TransactionType getType() {
+        return TransactionType.EXPENSE;
+    }
+
+    @Override
+    String getScreenTitle() {
+        return "Expense";
+    }
+}
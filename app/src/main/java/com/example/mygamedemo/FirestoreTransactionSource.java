@@ -0,0 +1,220 @@
+package com.example.mygamedemo;
+
+import android.os.Trace;
+import android.util.Log;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+// Every Firestore callback runs on the given executor, so decoding snapshots never touches the
+// main thread; the repository takes the decoded models from there to its io executor.
+public class FirestoreTransactionSource implements RemoteTransactionSource {
+    // Documents written with typed fields carry this schema version
+    private static final long SCHEMA_VERSION = 2;
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final CollectionReference notes;
+    private final Executor callbackExecutor;
+
+    public FirestoreTransactionSource(FirebaseFirestore firestore, String uid, Executor callbackExecutor) {
+        notes = firestore.collection("Expenses").document(uid).collection("Note");
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    @Override
+    public void fetchChangedSince(long watermark, RemoteChangePage previous, int limit,
+                                  TransactionRepository.Callback<RemoteChangePage> callback) {
+        // Legacy documents have no updatedAt and only show up in the first, unfiltered sync,
+        // which is therefore ordered by document id
+        Query query = watermark > 0
+                ? notes.whereGreaterThan("updatedAt", new Timestamp(new Date(watermark)))
+                        .orderBy("updatedAt")
+                        .orderBy(FieldPath.documentId())
+                : notes.orderBy(FieldPath.documentId());
+        if (previous != null) {
+            query = query.startAfter((DocumentSnapshot) previous.getCursor());
+        }
+        query.limit(limit).get()
+                .addOnSuccessListener(callbackExecutor, snapshot -> {
+                    Trace.beginSection("FirestoreTransactionSource.decodePage");
+                    List<TransactionModel> models = new ArrayList<>();
+                    List<TransactionModel> legacy = new ArrayList<>();
+                    DocumentSnapshot lastDocument = null;
+                    for (DocumentSnapshot ds : snapshot) {
+                        lastDocument = ds;
+                        TransactionModel model = fromSnapshot(ds);
+                        if (model == null) {
+                            continue;
+                        }
+                        models.add(model);
+                        if (needsMigration(isTyped(ds), model)) {
+                            legacy.add(model);
+                        }
+                    }
+                    Trace.endSection();
+                    callback.onSuccess(new RemoteChangePage(models, lastDocument, snapshot.size() < limit));
+                    migrateLegacy(legacy);
+                })
+                .addOnFailureListener(callbackExecutor, callback::onFailure);
+    }
+
+    @Override
+    public TransactionRepository.Subscription listen(long watermark, TransactionRepository.ChangeListener listener) {
+        Query query = watermark > 0
+                ? notes.whereGreaterThan("updatedAt", new Timestamp(new Date(watermark)))
+                : notes;
+        ListenerRegistration registration = query.addSnapshotListener(callbackExecutor, (snapshot, e) -> {
+            if (e != null) {
+                listener.onError(e);
+                return;
+            }
+            Trace.beginSection("FirestoreTransactionSource.decodeChanges");
+            List<TransactionModel> changes = new ArrayList<>();
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                DocumentSnapshot ds = change.getDocument();
+                // Our own writes are already in the local store
+                if (ds.getMetadata().hasPendingWrites()) {
+                    continue;
+                }
+                TransactionModel model = fromSnapshot(ds);
+                if (model == null) {
+                    continue;
+                }
+                if (change.getType() == DocumentChange.Type.REMOVED) {
+                    // Only a hard delete makes a document leave this query
+                    model.setDeleted(true);
+                }
+                changes.add(model);
+            }
+            Trace.endSection();
+            if (!changes.isEmpty()) {
+                listener.onChanges(changes);
+            }
+        });
+        return registration::remove;
+    }
+
+    @Override
+    public void commit(List<OutboxEntry> entries, TransactionRepository.Callback<Void> callback) {
+        // One round trip for the whole batch, and it lands atomically
+        WriteBatch batch = notes.getFirestore().batch();
+        for (OutboxEntry entry : entries) {
+            if (entry.isDelete()) {
+                // Keep a tombstone so other devices see the delete in their next delta sync
+                Map<String, Object> tombstone = new HashMap<>();
+                tombstone.put("deleted", true);
+                tombstone.put("updatedAt", FieldValue.serverTimestamp());
+                batch.set(notes.document(entry.getId()), tombstone, SetOptions.merge());
+            } else {
+                // merge so fields this app does not know about are kept
+                batch.set(notes.document(entry.getId()), toMap(entry.getModel()), SetOptions.merge());
+            }
+        }
+        batch.commit()
+                .addOnSuccessListener(callbackExecutor, callback::onSuccess)
+                .addOnFailureListener(callbackExecutor, callback::onFailure);
+    }
+
+    private static boolean isTyped(DocumentSnapshot ds) {
+        Long schema = ds.getLong("schemaVersion");
+        return schema != null && schema >= SCHEMA_VERSION;
+    }
+
+    // A legacy date that did not parse reads as 0; rewriting it would replace the text with 0 for good
+    static boolean needsMigration(boolean typed, TransactionModel model) {
+        return !typed && !model.isDeleted() && model.getTimestamp() > 0;
+    }
+
+    // Returns null for documents that cannot be decoded
+    private static TransactionModel fromSnapshot(DocumentSnapshot ds) {
+        String id = ds.getString("id");
+        if (id == null) {
+            id = ds.getId();
+        }
+        long amount = 0;
+        long timestamp = 0;
+        TransactionType type = TransactionType.fromLabel(ds.getString("type"));
+        boolean deleted = Boolean.TRUE.equals(ds.getBoolean("deleted"));
+        if (isTyped(ds)) {
+            Long amountMinor = ds.getLong("amountMinor");
+            Long time = ds.getLong("timestamp");
+            amount = amountMinor != null ? amountMinor : 0;
+            timestamp = time != null ? time : 0;
+        } else if (!deleted) {
+            // Older documents store amount and date as text
+            try {
+                amount = Money.parse(ds.getString("amount"));
+            } catch (NumberFormatException e) {
+                Log.e("FirestoreTransaction", "Invalid amount in " + id + ": " + ds.get("amount"), e);
+                return null;
+            }
+            timestamp = TransactionDates.parseLegacy(ds.getString("date"));
+            if (timestamp == 0) {
+                Log.w("FirestoreTransaction", "Unreadable date in " + id + ", left unmigrated: " + ds.get("date"));
+            }
+        }
+        TransactionModel model = new TransactionModel(
+                id,
+                ds.getString("note"),
+                amount,
+                type != null ? type : TransactionType.EXPENSE,
+                timestamp,
+                ds.getString("category"));
+        // Pending server timestamps read as null and must not move the watermark
+        Timestamp updatedAt = ds.getTimestamp("updatedAt");
+        model.setUpdatedAt(updatedAt != null ? updatedAt.toDate().getTime() : 0);
+        model.setDeleted(deleted);
+        return model;
+    }
+
+    private static Map<String, Object> toMap(TransactionModel model) {
+        Map<String, Object> transaction = typedFields(model);
+        transaction.put("id", model.getId());
+        transaction.put("note", model.getNote());
+        transaction.put("type", model.getType().getLabel());
+        transaction.put("updatedAt", FieldValue.serverTimestamp());
+        transaction.put("deleted", false);
+        if (model.getCategory() != null) {
+            transaction.put("category", model.getCategory());
+        }
+        return transaction;
+    }
+
+    private static Map<String, Object> typedFields(TransactionModel model) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("amountMinor", model.getAmount());
+        fields.put("timestamp", model.getTimestamp());
+        fields.put("schemaVersion", SCHEMA_VERSION);
+        fields.put("amount", FieldValue.delete());
+        fields.put("date", FieldValue.delete());
+        return fields;
+    }
+
+    // Rewrite text-typed documents once so later reads skip the parsing.
+    // updatedAt is left alone: the values do not change, other devices need not re-download them.
+    private void migrateLegacy(List<TransactionModel> legacy) {
+        for (int start = 0; start < legacy.size(); start += MAX_BATCH_SIZE) {
+            WriteBatch batch = notes.getFirestore().batch();
+            for (TransactionModel model : legacy.subList(start, Math.min(start + MAX_BATCH_SIZE, legacy.size()))) {
+                batch.update(notes.document(model.getId()), typedFields(model));
+            }
+            batch.commit().addOnFailureListener(e -> Log.w("FirestoreTransaction", "Legacy migration failed", e));
+        }
+    }
+}
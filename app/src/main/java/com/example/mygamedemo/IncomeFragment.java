@@ -0,0 +1,14 @@
+package com.example.mygamedemo;
+
+public class IncomeFragment extends TypeHistoryFragment {
+
+    @Override
+    TransactionType getType() {
+        return TransactionType.INCOME;
+    }
+
+    @Override
+    String getScreenTitle() {
+        return "Income";
+    }
+}
@@ -0,0 +1,412 @@
+package com.example.mygamedemo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+// Reads and writes go to the local store first; the remote is only touched in the background.
+public class LocalFirstTransactionRepository implements TransactionRepository {
+    private final TransactionStore store;
+    private final RemoteTransactionSource remote;
+    private final Executor ioExecutor;
+    private final Executor mainExecutor;
+    private final DeltaSyncEngine syncEngine;
+    private final OutboxFlusher outboxFlusher;
+    // null when cold starts are not sped up
+    private final DashboardSnapshotFile snapshots;
+    // Live listeners, also told when queued rows finish uploading
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final List<LiveSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Set on the io executor by close; reads and remote changes arriving later are dropped
+    private boolean closed;
+    // Built on first use, then updated by every store write; io executor only
+    private TransactionTable table;
+    private TransactionAggregates aggregates;
+    private TransactionSearchIndex searchIndex;
+
+    public LocalFirstTransactionRepository(TransactionStore store, RemoteTransactionSource remote,
+                                           Executor ioExecutor, Executor mainExecutor,
+                                           OutboxFlusher.Scheduler scheduler) {
+        this(store, remote, ioExecutor, mainExecutor, scheduler, null);
+    }
+
+    public LocalFirstTransactionRepository(TransactionStore store, RemoteTransactionSource remote,
+                                           Executor ioExecutor, Executor mainExecutor,
+                                           OutboxFlusher.Scheduler scheduler, DashboardSnapshotFile snapshots) {
+        this.store = store;
+        this.remote = remote;
+        this.ioExecutor = ioExecutor;
+        this.mainExecutor = mainExecutor;
+        this.syncEngine = new DeltaSyncEngine(store, remote, ioExecutor);
+        this.outboxFlusher = new OutboxFlusher(store, remote, ioExecutor, scheduler, this::onSynced);
+        this.snapshots = snapshots;
+        store.setRowObserver(this::onRowChanged);
+        // Writes left in the outbox by an earlier run
+        ioExecutor.execute(outboxFlusher::requestFlush);
+    }
+
+    @Override
+    public void getAll(Callback<List<TransactionModel>> callback) {
+        read(callback, store::getAll);
+    }
+
+    @Override
+    public void loadPage(TransactionType type, TransactionModel after, int pageSize,
+                         Callback<List<TransactionModel>> callback) {
+        read(callback, () -> store.getPage(type, after, pageSize));
+    }
+
+    @Override
+    public void loadCategoryPage(TransactionType type, String category, TransactionModel after, int pageSize,
+                                 Callback<List<TransactionModel>> callback) {
+        read(callback, () -> store.getCategoryPage(type, category, after, pageSize));
+    }
+
+    @Override
+    public void getCategories(Callback<List<String>> callback) {
+        read(callback, store::getCategories);
+    }
+
+    @Override
+    public void getTotals(Callback<TransactionTotals> callback) {
+        read(callback, store::getTotals);
+    }
+
+    @Override
+    public void getMonthTotals(int monthKey, Callback<TransactionTotals> callback) {
+        read(callback, () -> store.getMonthTotals(monthKey));
+    }
+
+    @Override
+    public void getRangeTotals(long fromMillis, long toMillis, Callback<TransactionTotals> callback) {
+        read(callback, () -> aggregates != null
+                ? aggregates.getTotals(fromMillis, toMillis)
+                : table().getTotals(tableFrom(fromMillis), TransactionPeriods.lastMillisOfDay(toMillis)));
+        buildAggregates();
+    }
+
+    @Override
+    public void getCategoryTotals(TransactionType type, long fromMillis, long toMillis,
+                                  Callback<List<CategoryTotal>> callback) {
+        read(callback, () -> aggregates != null
+                ? aggregates.getCategoryTotals(type, fromMillis, toMillis)
+                : table().getCategoryTotals(type, tableFrom(fromMillis),
+                        TransactionPeriods.lastMillisOfDay(toMillis)));
+        buildAggregates();
+    }
+
+    @Override
+    public void search(String query, TransactionType type, int limit, Callback<List<TransactionModel>> callback) {
+        read(callback, () -> {
+            if (searchIndex == null) {
+                searchIndex = TransactionSearchIndex.build(store);
+            }
+            return searchIndex.search(query, type, limit);
+        });
+    }
+
+    private interface StoreRead<T> {
+        T run();
+    }
+
+    // Answers on the main executor. Reads still queued when close runs find the store gone and are dropped
+    private <T> void read(Callback<T> callback, StoreRead<T> query) {
+        ioExecutor.execute(() -> {
+            if (closed) {
+                return;
+            }
+            T result;
+            try {
+                result = query.run();
+            } catch (RuntimeException e) {
+                mainExecutor.execute(() -> callback.onFailure(e));
+                return;
+            }
+            mainExecutor.execute(() -> callback.onSuccess(result));
+        });
+    }
+
+    // Runs on the io executor. The one full scan of the store; the rest of analytics reads the table
+    private TransactionTable table() {
+        if (table == null) {
+            table = TransactionTable.build(store);
+        }
+        return table;
+    }
+
+    // Until the trees exist, a range query is one loop over the table; they are built right after
+    // that first answer is posted, for the range changes that follow.
+    private void buildAggregates() {
+        ioExecutor.execute(() -> {
+            if (!closed && aggregates == null) {
+                aggregates = TransactionAggregates.build(table());
+            }
+        });
+    }
+
+    // Start of the table range matching what the trees answer: whole local days, and none of the
+    // rows without a date, which TransactionAggregates leaves out
+    private static long tableFrom(long fromMillis) {
+        return Math.max(1, TransactionPeriods.firstMillisOfDay(fromMillis));
+    }
+
+    // Runs on the io executor, after the store committed the row
+    private void onRowChanged(TransactionModel before, TransactionModel after) {
+        if (table != null) {
+            table.onRowChanged(before, after);
+        }
+        if (aggregates != null) {
+            aggregates.onRowChanged(before, after);
+        }
+        if (searchIndex != null) {
+            searchIndex.onRowChanged(before, after);
+        }
+    }
+
+    @Override
+    public void getTrend(TrendGranularity granularity, int maxPoints, Callback<TrendAggregator.Trend> callback) {
+        read(callback, () -> TrendAggregator.aggregate(table(), granularity).downsample(maxPoints));
+    }
+
+    @Override
+    public void add(TransactionModel model, Callback<Void> callback) {
+        // Local estimate, Firestore replaces it with the server time on sync
+        model.setUpdatedAt(System.currentTimeMillis());
+        ioExecutor.execute(() -> {
+            store.queuePut(model);
+            mainExecutor.execute(() -> callback.onSuccess(null));
+            outboxFlusher.requestFlush();
+        });
+    }
+
+    @Override
+    public void update(TransactionModel model, Callback<Void> callback) {
+        add(model, callback);
+    }
+
+    @Override
+    public void delete(String id, Callback<Void> callback) {
+        ioExecutor.execute(() -> {
+            store.queueDelete(id);
+            mainExecutor.execute(() -> callback.onSuccess(null));
+            outboxFlusher.requestFlush();
+        });
+    }
+
+    @Override
+    public void addRecurringRule(RecurringRule rule, Callback<Integer> callback) {
+        ioExecutor.execute(() -> {
+            store.putRecurringRule(rule);
+            materializeOnIo(System.currentTimeMillis(), callback);
+        });
+    }
+
+    @Override
+    public void deleteRecurringRule(String ruleId, Callback<Void> callback) {
+        ioExecutor.execute(() -> {
+            store.removeRecurringRule(ruleId);
+            mainExecutor.execute(() -> callback.onSuccess(null));
+        });
+    }
+
+    @Override
+    public void materializeRecurring(long now, Callback<Integer> callback) {
+        ioExecutor.execute(() -> materializeOnIo(now, callback));
+    }
+
+    // Runs on the io executor
+    private void materializeOnIo(long now, Callback<Integer> callback) {
+        int written;
+        try {
+            written = RecurringScheduler.materializeDue(store, now);
+        } catch (RuntimeException e) {
+            mainExecutor.execute(() -> callback.onFailure(e));
+            return;
+        }
+        mainExecutor.execute(() -> callback.onSuccess(written));
+        if (written > 0) {
+            // One flush for the whole run: the outbox uploads it in as few commits as it can
+            outboxFlusher.requestFlush();
+        }
+    }
+
+    @Override
+    public void importTransactions(TransactionImporter.Source source, TransactionImporter.ProgressListener progress,
+                                   Callback<TransactionImporter.Result> callback) {
+        ioExecutor.execute(() -> {
+            try {
+                TransactionImporter.Result result = new TransactionImporter(store).importFrom(source,
+                        p -> mainExecutor.execute(() -> progress.onProgress(p)));
+                mainExecutor.execute(() -> callback.onSuccess(result));
+            } catch (IOException | RuntimeException e) {
+                mainExecutor.execute(() -> callback.onFailure(e));
+            }
+            // Also uploads the chunks written before a failure
+            outboxFlusher.requestFlush();
+        });
+    }
+
+    @Override
+    public void exportTransactions(TransactionExporter.Sink sink, TransactionExporter.Format format,
+                                   TransactionExporter.ProgressListener progress, Callback<Integer> callback) {
+        ioExecutor.execute(() -> {
+            try {
+                int exported = new TransactionExporter(store).exportTo(sink, format,
+                        count -> mainExecutor.execute(() -> progress.onProgress(count)));
+                mainExecutor.execute(() -> callback.onSuccess(exported));
+            } catch (IOException | RuntimeException e) {
+                mainExecutor.execute(() -> callback.onFailure(e));
+            }
+        });
+    }
+
+    @Override
+    public void saveDashboardSnapshot(TransactionTotals totals, List<TransactionModel> firstPage) {
+        if (snapshots == null) {
+            return;
+        }
+        ioExecutor.execute(() -> {
+            try {
+                snapshots.write(new DashboardSnapshot(store.getSyncWatermark(), totals, firstPage));
+            } catch (IOException e) {
+                // The next cold start reads the store instead
+                snapshots.invalidateBefore(Long.MAX_VALUE);
+            }
+        });
+    }
+
+    // Runs on the io executor, after remote changes moved the watermark
+    private void invalidateSnapshot() {
+        if (snapshots != null) {
+            snapshots.invalidateBefore(store.getSyncWatermark());
+        }
+    }
+
+    @Override
+    public void refresh(Callback<Void> callback) {
+        syncEngine.sync(new Callback<Integer>() {
+            @Override
+            public void onSuccess(Integer changes) {
+                invalidateSnapshot();
+                mainExecutor.execute(() -> callback.onSuccess(null));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                mainExecutor.execute(() -> callback.onFailure(e));
+            }
+        });
+    }
+
+    @Override
+    public Subscription listen(ChangeListener listener) {
+        LiveSubscription subscription = new LiveSubscription(listener);
+        changeListeners.add(listener);
+        subscriptions.add(subscription);
+        ioExecutor.execute(() -> {
+            long watermark = store.getSyncWatermark();
+            subscription.attach(remote.listen(watermark, new ChangeListener() {
+                @Override
+                public void onChanges(List<TransactionModel> changes) {
+                    ioExecutor.execute(() -> {
+                        if (closed) {
+                            return;
+                        }
+                        long newWatermark = store.getSyncWatermark();
+                        for (TransactionModel change : changes) {
+                            newWatermark = Math.max(newWatermark, change.getUpdatedAt());
+                        }
+                        store.applyChanges(changes, newWatermark);
+                        invalidateSnapshot();
+                        // Handed to the main thread as is, so nobody may change it there
+                        List<TransactionModel> delivered = Collections.unmodifiableList(changes);
+                        mainExecutor.execute(() -> {
+                            if (subscription.isActive()) {
+                                listener.onChanges(delivered);
+                            }
+                        });
+                    });
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    mainExecutor.execute(() -> {
+                        if (subscription.isActive()) {
+                            listener.onError(e);
+                        }
+                    });
+                }
+            }));
+        });
+        return subscription;
+    }
+
+    @Override
+    public void close() {
+        for (LiveSubscription subscription : subscriptions) {
+            subscription.remove();
+        }
+        ioExecutor.execute(() -> {
+            closed = true;
+            outboxFlusher.stop();
+            store.setRowObserver(null);
+            store.close();
+        });
+    }
+
+    // Runs on the io executor: report uploaded rows so their pending mark goes away
+    private void onSynced(List<String> ids) {
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        List<TransactionModel> synced = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            TransactionModel model = store.get(id);
+            if (model != null) {
+                synced.add(model);
+            }
+        }
+        mainExecutor.execute(() -> {
+            for (ChangeListener listener : changeListeners) {
+                listener.onChanges(synced);
+            }
+        });
+    }
+
+    // Handed out before the remote listener exists, since that is registered on the io thread
+    private class LiveSubscription implements Subscription {
+        private final ChangeListener listener;
+        private Subscription remoteSubscription;
+        private boolean removed;
+
+        LiveSubscription(ChangeListener listener) {
+            this.listener = listener;
+        }
+
+        synchronized void attach(Subscription subscription) {
+            if (removed) {
+                subscription.remove();
+            } else {
+                remoteSubscription = subscription;
+            }
+        }
+
+        synchronized boolean isActive() {
+            return !removed;
+        }
+
+        @Override
+        public synchronized void remove() {
+            removed = true;
+            changeListeners.remove(listener);
+            subscriptions.remove(this);
+            if (remoteSubscription != null) {
+                remoteSubscription.remove();
+                remoteSubscription = null;
+            }
+        }
+    }
+}
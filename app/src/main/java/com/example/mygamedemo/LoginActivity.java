@@ -23,11 +23,18 @@ public class LoginActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        setContentView(R.layout.login);
 
         // Initialize Firebase Auth
         mAuth = FirebaseAuth.getInstance();
 
+        // Đã đăng nhập: vào thẳng màn hình chính, không dựng form đăng nhập khi khởi động
+        if (mAuth.getCurrentUser() != null) {
+            startActivity(new Intent(LoginActivity.this, MainActivity.class));
+            finish();
+            return;
+        }
+        setContentView(R.layout.login);
+
         edtUsername = findViewById(R.id.edtUsername);
         edtPassword = findViewById(R.id.edtPassword);
         btnLogin = findViewById(R.id.btnLogin);
@@ -69,7 +76,7 @@ public class LoginActivity extends AppCompatActivity {
                         // Sign in success, redirect to MainActivity
                         Toast.makeText(LoginActivity.this, "Login successful!", Toast.LENGTH_SHORT).show();
                         FirebaseUser user = mAuth.getCurrentUser();
-                        startActivity(new Intent(LoginActivity.this, DashboardActivity.class));
+                        startActivity(new Intent(LoginActivity.this, MainActivity.class));
                         finish();
                     } else {
                         // If sign in fails, display a message to the user.
@@ -0,0 +1,95 @@
+package com.example.mygamedemo;
+
+import android.graphics.Color;
+import android.os.Bundle;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.navigation.NavController;
+import androidx.navigation.NavOptions;
+import androidx.navigation.fragment.NavHostFragment;
+
+// Host of the bottom-menu tabs. A tab switch is a fragment transaction inside this activity, so
+// the menu, Firebase and the repository are set up once instead of on every tap, and the back
+// stack never holds more than the start tab plus the current one.
+public class MainActivity extends AppCompatActivity {
+    NavController navController;
+
+    private LinearLayout menuHome, menuExpense, menuIncome, menuChart, menuSetting;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_main);
+
+        NavHostFragment navHost = (NavHostFragment) getSupportFragmentManager().findFragmentById(R.id.nav_host_fragment);
+        navController = navHost.getNavController();
+        // Tiền thuê nhà, lương... định kỳ được tạo trong nền, mỗi ngày tối đa một lần
+        RecurringWorker.schedule(this);
+
+        menuHome = findViewById(R.id.menu_home);
+        menuExpense = findViewById(R.id.menu_expense);
+        menuIncome = findViewById(R.id.menu_income);
+        menuChart = findViewById(R.id.menu_chart);
+        menuSetting = findViewById(R.id.menu_setting);
+        menuHome.setOnClickListener(v -> showTab(R.id.dashboardFragment));
+        menuExpense.setOnClickListener(v -> showTab(R.id.expenseFragment));
+        menuIncome.setOnClickListener(v -> showTab(R.id.incomeFragment));
+        menuChart.setOnClickListener(v -> showTab(R.id.chartFragment));
+        menuSetting.setOnClickListener(v -> showTab(R.id.settingFragment));
+
+        // Cũng chạy khi quay lại bằng nút Back, nên menu luôn khớp với tab đang hiện
+        navController.addOnDestinationChangedListener((controller, destination, arguments) ->
+                selectMenu(menuFor(destination.getId())));
+    }
+
+    // Each tab keeps its own saved state (scroll position, search text, chart range) while
+    // another tab is shown, and gets it back when reselected
+    private void showTab(int destinationId) {
+        if (navController.getCurrentDestination() != null
+                && navController.getCurrentDestination().getId() == destinationId) {
+            return;
+        }
+        NavOptions options = new NavOptions.Builder()
+                .setLaunchSingleTop(true)
+                .setRestoreState(true)
+                .setPopUpTo(navController.getGraph().getStartDestinationId(), false, true)
+                .build();
+        navController.navigate(destinationId, null, options);
+    }
+
+    private LinearLayout menuFor(int destinationId) {
+        if (destinationId == R.id.expenseFragment) {
+            return menuExpense;
+        } else if (destinationId == R.id.incomeFragment) {
+            return menuIncome;
+        } else if (destinationId == R.id.chartFragment) {
+            return menuChart;
+        } else if (destinationId == R.id.settingFragment) {
+            return menuSetting;
+        }
+        return menuHome;
+    }
+
+    private void selectMenu(LinearLayout selectedMenu) {
+        resetMenu(menuHome);
+        resetMenu(menuExpense);
+        resetMenu(menuIncome);
+        resetMenu(menuChart);
+        resetMenu(menuSetting);
+
+        ImageView icon = (ImageView) selectedMenu.getChildAt(0);
+        TextView text = (TextView) selectedMenu.getChildAt(1);
+        icon.setColorFilter(Color.RED);
+        text.setTextColor(Color.RED);
+    }
+
+    private void resetMenu(LinearLayout menu) {
+        ImageView icon = (ImageView) menu.getChildAt(0);
+        TextView text = (TextView) menu.getChildAt(1);
+        icon.setColorFilter(Color.BLACK);
+        text.setTextColor(Color.BLACK);
+    }
+}
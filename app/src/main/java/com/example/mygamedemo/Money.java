@@ -0,0 +1,38 @@
+package com.example.mygamedemo;
+
+import java.math.BigDecimal;
+
+// Amounts are stored as a long number of minor units (1/100 of the displayed unit)
+public final class Money {
+    public static final int MINOR_PER_MAJOR = 100;
+
+    private Money() {
+    }
+
+    // "150" -> 15000, "12.5" -> 1250. Throws NumberFormatException on bad input.
+    public static long parse(String text) {
+        if (text == null) {
+            throw new NumberFormatException("null amount");
+        }
+        String trimmed = text.trim();
+        if (trimmed.indexOf('.') < 0) {
+            return Math.multiplyExact(Long.parseLong(trimmed), MINOR_PER_MAJOR);
+        }
+        try {
+            return new BigDecimal(trimmed).movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Too many decimals: " + text);
+        }
+    }
+
+    // 15000 -> "150", 1250 -> "12.50"
+    public static String format(long minor) {
+        long major = minor / MINOR_PER_MAJOR;
+        long cents = Math.abs(minor % MINOR_PER_MAJOR);
+        if (cents == 0) {
+            return String.valueOf(major);
+        }
+        String sign = minor < 0 && major == 0 ? "-" : "";
+        return sign + major + (cents < 10 ? ".0" : ".") + cents;
+    }
+}
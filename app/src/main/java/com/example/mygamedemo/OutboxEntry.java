@@ -0,0 +1,32 @@
+package com.example.mygamedemo;
+
+// A local write waiting to be uploaded. Only the latest write per transaction id is kept.
+public class OutboxEntry {
+    private final String id;
+    private final long sequence;
+    private final TransactionModel model;
+
+    // model is null for a delete
+    public OutboxEntry(String id, long sequence, TransactionModel model) {
+        this.id = id;
+        this.sequence = sequence;
+        this.model = model;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    // Grows with every write, used to tell whether the row was edited again during upload
+    public long getSequence() {
+        return sequence;
+    }
+
+    public TransactionModel getModel() {
+        return model;
+    }
+
+    public boolean isDelete() {
+        return model == null;
+    }
+}
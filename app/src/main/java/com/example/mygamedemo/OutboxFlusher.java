@@ -0,0 +1,113 @@
+package com.example.mygamedemo;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+// Uploads the outbox in batches. Writes made while a batch is in flight, or within
+// FLUSH_DELAY_MS of each other, go out together in the next batch.
+// Every method runs on the io executor.
+public class OutboxFlusher {
+    // Firestore's limit for one WriteBatch
+    public static final int MAX_BATCH_SIZE = 500;
+    static final long FLUSH_DELAY_MS = 1000;
+    static final long BASE_RETRY_MS = 2000;
+    static final long MAX_RETRY_MS = 5 * 60 * 1000;
+
+    public interface Scheduler {
+        void schedule(Runnable task, long delayMillis);
+    }
+
+    public interface Listener {
+        // Ids whose latest local edit is now on the server
+        void onSynced(List<String> ids);
+    }
+
+    private final TransactionStore store;
+    private final RemoteTransactionSource remote;
+    private final Executor ioExecutor;
+    private final Scheduler scheduler;
+    private final Listener listener;
+
+    private boolean scheduled;
+    private boolean flushing;
+    private boolean stopped;
+    private int failedAttempts;
+
+    public OutboxFlusher(TransactionStore store, RemoteTransactionSource remote, Executor ioExecutor,
+                         Scheduler scheduler, Listener listener) {
+        this.store = store;
+        this.remote = remote;
+        this.ioExecutor = ioExecutor;
+        this.scheduler = scheduler;
+        this.listener = listener;
+    }
+
+    public void requestFlush() {
+        schedule(FLUSH_DELAY_MS);
+    }
+
+    // No more uploads or retries; a batch already in flight is not marked synced and goes
+    // out again in the next session, which is harmless since uploads are plain sets
+    public void stop() {
+        stopped = true;
+    }
+
+    private void schedule(long delayMillis) {
+        if (scheduled || flushing || stopped) {
+            return;
+        }
+        scheduled = true;
+        scheduler.schedule(() -> ioExecutor.execute(() -> {
+            scheduled = false;
+            flush();
+        }), delayMillis);
+    }
+
+    private void flush() {
+        if (flushing || stopped) {
+            return;
+        }
+        List<OutboxEntry> entries = store.getOutbox(MAX_BATCH_SIZE);
+        if (entries.isEmpty()) {
+            return;
+        }
+        flushing = true;
+        remote.commit(entries, new TransactionRepository.Callback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                ioExecutor.execute(() -> {
+                    if (stopped) {
+                        return;
+                    }
+                    store.markSynced(entries);
+                    flushing = false;
+                    failedAttempts = 0;
+                    List<String> ids = new ArrayList<>(entries.size());
+                    for (OutboxEntry entry : entries) {
+                        ids.add(entry.getId());
+                    }
+                    listener.onSynced(ids);
+                    // Anything queued during the upload goes out right away
+                    flush();
+                });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                ioExecutor.execute(() -> {
+                    flushing = false;
+                    if (stopped) {
+                        return;
+                    }
+                    long delay = Math.min(BASE_RETRY_MS << Math.min(failedAttempts, 16), MAX_RETRY_MS);
+                    failedAttempts++;
+                    Log.w("OutboxFlusher", "Upload of " + entries.size() + " writes failed, retrying in " + delay + " ms", e);
+                    schedule(delay);
+                });
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.mygamedemo;
 
+import android.animation.ValueAnimator;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
@@ -8,21 +9,46 @@ import android.graphics.RectF;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
+import android.view.animation.DecelerateInterpolator;
 
-public class PieChartView extends View {
-
-    private Paint paint;
-    private float expensePercentage = 0f;
-    private float incomePercentage = 0f;
-    private float expenseStartAngle = 0f;
-    private float incomeStartAngle = 0f;
+import androidx.core.content.ContextCompat;
 
-    private boolean showIncomeOnly = false;
-    private boolean showExpenseOnly = false;
-    private boolean isExpenseVisible = true;
-    private boolean isIncomeVisible = true;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
-    private OnSectionClickListener sectionClickListener;
+public class PieChartView extends View {
+    private static final float MARGIN = 20;
+    private static final float LABEL_TEXT_SIZE = 40;
+    private static final float LABEL_SPACING = 40;
+    private static final long ANIMATION_MS = 350;
+    private static final int[] PALETTE = {R.color.blue, R.color.orange, R.color.purple, R.color.cyan,
+            R.color.magenta, R.color.brown, R.color.yellow, R.color.pink, R.color.dark_gray, R.color.red, R.color.green};
+
+    // Everything onDraw needs is prepared ahead of time so drawing a frame allocates nothing
+    private final Paint slicePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint labelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF oval = new RectF();
+    private final int[] palette = new int[PALETTE.length];
+    private int expenseColor;
+    private int incomeColor;
+    private int otherColor;
+    private float centerX;
+    private float centerY;
+    private float radius;
+
+    // Per slice, indexed in drawing order; ends are cumulative angles clockwise from the top
+    private List<ChartSlice> slices = Collections.emptyList();
+    private final float[] ends = new float[PieLayout.MAX_SLICES];
+    // What is on screen: moves from fromEnds to ends while the animator runs
+    private final float[] fromEnds = new float[PieLayout.MAX_SLICES];
+    private final float[] drawEnds = new float[PieLayout.MAX_SLICES];
+    private final ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+    private final int[] colors = new int[PieLayout.MAX_SLICES];
+    private final String[] percentLabels = new String[PieLayout.MAX_SLICES];
+    private int selected = -1;
+
+    private OnSliceClickListener sliceClickListener;
 
     // Constructors
     public PieChartView(Context context) {
@@ -40,51 +66,86 @@ public class PieChartView extends View {
         init();
     }
 
-    // Initialize Paint object
+    // Resolve colors and configure the paints once
     private void init() {
-        paint = new Paint();
-        paint.setAntiAlias(true);
-        paint.setStyle(Paint.Style.FILL);
+        slicePaint.setStyle(Paint.Style.FILL);
+        labelPaint.setColor(Color.WHITE);
+        labelPaint.setTextSize(LABEL_TEXT_SIZE);
+        labelPaint.setTextAlign(Paint.Align.CENTER);
+        for (int i = 0; i < PALETTE.length; i++) {
+            palette[i] = ContextCompat.getColor(getContext(), PALETTE[i]);
+        }
+        expenseColor = ContextCompat.getColor(getContext(), R.color.red);
+        incomeColor = ContextCompat.getColor(getContext(), R.color.green);
+        otherColor = ContextCompat.getColor(getContext(), R.color.gray);
+
+        // One animator for every data change, created once. It ticks on the Choreographer,
+        // so there is a single redraw per vsync however often the data changes.
+        animator.setDuration(ANIMATION_MS);
+        animator.setInterpolator(new DecelerateInterpolator());
+        animator.addUpdateListener(animation -> {
+            float fraction = animation.getAnimatedFraction();
+            for (int i = 0; i < slices.size(); i++) {
+                drawEnds[i] = fromEnds[i] + (ends[i] - fromEnds[i]) * fraction;
+            }
+            postInvalidateOnAnimation();
+        });
     }
 
-    // Set data and calculate percentages for expense and income
-    public void setData(float expense, float income) {
-        float total = expense + income;
-        expensePercentage = (expense / total) * 360;
-        incomePercentage = (income / total) * 360;
-        invalidate(); // Redraw the view with updated data
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        centerX = w / 2f;
+        centerY = h / 2f;
+        radius = Math.max(0, Math.min(centerX, centerY) - MARGIN); // Ensure there is space for the pie chart
+        oval.set(centerX - radius, centerY - radius, centerX + radius, centerY + radius);
     }
 
-    // Show only income
-    public void showOnlyIncome() {
-        showIncomeOnly = true;
-        showExpenseOnly = false;
-        invalidate();
+    // Expense against income, in the app's red and green
+    public void setData(long expense, long income) {
+        setSlices(Arrays.asList(new ChartSlice("Expense", expense, expenseColor),
+                new ChartSlice("Income", income, incomeColor)));
     }
 
-    // Show only expense
-    public void showOnlyExpense() {
-        showIncomeOnly = false;
-        showExpenseOnly = true;
-        invalidate();
-    }
-    public void showAllSections() {
-        // Logic hiển thị cả Expense và Income
-        isExpenseVisible = true;
-        isIncomeVisible = true;
-        invalidate(); // Làm mới biểu đồ
+    // Any number of slices; empty ones are skipped and the smallest are merged into "Other"
+    public void setSlices(List<ChartSlice> data) {
+        // Animate from whatever is on screen, even halfway through a previous animation.
+        // New slices grow out of the end of the pie, or out of the top when it was empty.
+        int shown = slices.size();
+        for (int i = 0; i < fromEnds.length; i++) {
+            fromEnds[i] = i < shown ? drawEnds[i] : (shown > 0 ? 360 : 0);
+        }
+        animator.cancel();
+
+        slices = PieLayout.mergeSmall(data, "Other", otherColor);
+        long total = PieLayout.computeEnds(slices, ends);
+        int paletteIndex = 0;
+        for (int i = 0; i < slices.size(); i++) {
+            ChartSlice slice = slices.get(i);
+            colors[i] = slice.getColor() != 0 ? slice.getColor() : palette[paletteIndex++ % palette.length];
+            // Labels only change with the data, not per frame
+            percentLabels[i] = String.format("%.1f%%", slice.getValue() * 100f / total);
+        }
+        selected = -1;
+        if (isAttachedToWindow()) {
+            animator.start();
+        } else {
+            System.arraycopy(ends, 0, drawEnds, 0, slices.size());
+            invalidate(); // Redraw the view with updated data
+        }
     }
 
-    // Show both income and expense
-    public void showAll() {
-        showIncomeOnly = false;
-        showExpenseOnly = false;
-        invalidate();
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (animator.isRunning()) {
+            animator.end();
+        }
     }
 
-    // Set the listener for section click events
-    public void setOnSectionClickListener(OnSectionClickListener listener) {
-        sectionClickListener = listener;
+    // Set the listener for slice click events
+    public void setOnSliceClickListener(OnSliceClickListener listener) {
+        sliceClickListener = listener;
     }
 
     // Handle drawing of the pie chart
@@ -92,85 +153,46 @@ public class PieChartView extends View {
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
-        float centerX = getWidth() / 2;
-        float centerY = getHeight() / 2;
-        float radius = Math.min(centerX, centerY) - 20; // Ensure there is space for the pie chart
-        RectF rectF = new RectF(centerX - radius, centerY - radius, centerX + radius, centerY + radius);
-
-        // Draw income and expense based on visibility flags
-        if (showIncomeOnly) {
-            paint.setColor(getResources().getColor(R.color.green));
-            canvas.drawArc(rectF, -90, incomePercentage, true, paint);
-
-            // Draw percentage text
-            String percentageText = String.format("%.1f%%", incomePercentage / 360 * 100);
-            paint.setColor(Color.WHITE);
-            paint.setTextSize(40);
-            paint.setTextAlign(Paint.Align.CENTER);
-            canvas.drawText(percentageText, centerX, centerY, paint);
-        } else if (showExpenseOnly) {
-            paint.setColor(getResources().getColor(R.color.red));
-            canvas.drawArc(rectF, -90, expensePercentage, true, paint);
-
-            // Draw percentage text
-            String percentageText = String.format("%.1f%%", expensePercentage / 360 * 100);
-            paint.setColor(Color.WHITE);
-            paint.setTextSize(40);
-            paint.setTextAlign(Paint.Align.CENTER);
-            canvas.drawText(percentageText, centerX, centerY, paint);
-        } else {
-            // Draw expense section
-            paint.setColor(getResources().getColor(R.color.red));
-            canvas.drawArc(rectF, -90, expensePercentage, true, paint);
-            expenseStartAngle = -90;
-
-            // Draw income section
-            paint.setColor(getResources().getColor(R.color.green));
-            canvas.drawArc(rectF, expenseStartAngle, incomePercentage, true, paint);
-            incomeStartAngle = expenseStartAngle + expensePercentage;
-
-            // Draw percentage text for Expense
-            String expensePercentageText = String.format("%.1f%%", expensePercentage / 360 * 100);
-            paint.setColor(Color.WHITE);
-            paint.setTextSize(40);
-            paint.setTextAlign(Paint.Align.CENTER);
-            canvas.drawText(expensePercentageText, centerX, centerY - 40, paint);
-
-            // Draw percentage text for Income
-            String incomePercentageText = String.format("%.1f%%", incomePercentage / 360 * 100);
-            canvas.drawText(incomePercentageText, centerX, centerY + 40, paint);
+        int count = slices.size();
+        float start = 0;
+        for (int i = 0; i < count; i++) {
+            slicePaint.setColor(colors[i]);
+            // Canvas angles start at 3 o'clock, the pie starts at the top
+            canvas.drawArc(oval, start - 90, drawEnds[i] - start, true, slicePaint);
+            start = drawEnds[i];
+        }
+
+        // One or two slices: show every percentage. More: only the touched slice.
+        if (count == 1) {
+            canvas.drawText(percentLabels[0], centerX, centerY, labelPaint);
+        } else if (count == 2) {
+            canvas.drawText(percentLabels[0], centerX, centerY - LABEL_SPACING, labelPaint);
+            canvas.drawText(percentLabels[1], centerX, centerY + LABEL_SPACING, labelPaint);
+        } else if (selected >= 0) {
+            canvas.drawText(slices.get(selected).getLabel(), centerX, centerY - LABEL_SPACING, labelPaint);
+            canvas.drawText(percentLabels[selected], centerX, centerY + LABEL_SPACING, labelPaint);
         }
     }
 
-    // Handle touch events to detect which section of the pie chart was clicked
+    // Handle touch events to detect which slice of the pie chart was clicked
     @Override
     public boolean onTouchEvent(MotionEvent event) {
         if (event.getAction() == MotionEvent.ACTION_DOWN) {
-            float x = event.getX();
-            float y = event.getY();
-            float centerX = getWidth() / 2;
-            float centerY = getHeight() / 2;
-            float radius = Math.min(centerX, centerY) - 20;
-
-            // Calculate the distance from the touch point to the center of the chart
-            double distance = Math.sqrt(Math.pow(x - centerX, 2) + Math.pow(y - centerY, 2));
-
-            if (distance <= radius) {
-                // Calculate the angle of the touch relative to the center
-                float angle = (float) Math.toDegrees(Math.atan2(y - centerY, x - centerX));
+            float dx = event.getX() - centerX;
+            float dy = event.getY() - centerY;
 
+            if (dx * dx + dy * dy <= radius * radius) {
+                // Screen angle grows clockwise from 3 o'clock; shift it to start at the top like the slices
+                float angle = (float) Math.toDegrees(Math.atan2(dy, dx)) + 90;
                 if (angle < 0) {
                     angle += 360; // Normalize the angle
                 }
-
-                // Check which section was clicked
-                if (angle >= 90 && angle <= (90 + expensePercentage)) {
-                    if (sectionClickListener != null) {
-                        sectionClickListener.onExpenseClick(); // Call expense click listener
-                    }
-                } else if (angle >= (90 + expensePercentage) && angle <= (90 + expensePercentage + incomePercentage)) {
-                    if (sectionClickListener != null) {
-                        sectionClickListener.onIncomeClick(); // Call income click listener
+                int index = PieLayout.indexAt(ends, slices.size(), angle);
+                if (index >= 0) {
+                    selected = index;
+                    invalidate();
+                    if (sliceClickListener != null) {
+                        sliceClickListener.onSliceClick(slices.get(index));
                     }
                 }
             }
@@ -178,9 +200,8 @@ public class PieChartView extends View {
         return true;
     }
 
-    // Interface for click events on pie chart sections
-    public interface OnSectionClickListener {
-        void onExpenseClick(); // Called when the expense section is clicked
-        void onIncomeClick();  // Called when the income section is clicked
+    // Interface for click events on pie chart slices
+    public interface OnSliceClickListener {
+        void onSliceClick(ChartSlice slice);
     }
 }
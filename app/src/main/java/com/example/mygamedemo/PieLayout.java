@@ -0,0 +1,94 @@
+package com.example.mygamedemo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Slice angles for PieChartView, kept free of Android types so it can be unit tested.
+// Angles are degrees clockwise from the top of the pie.
+final class PieLayout {
+    // More slices than this stop being readable; the tail is merged into "Other"
+    static final int MAX_SLICES = 12;
+    // Slices under 2% of the total are too thin to see or touch
+    static final float MIN_FRACTION = 0.02f;
+
+    private PieLayout() {
+    }
+
+    // Keeps the input order. Slices that are too small, or beyond the largest MAX_SLICES - 1,
+    // are summed into one "Other" slice at the end.
+    static List<ChartSlice> mergeSmall(List<ChartSlice> slices, String otherLabel, int otherColor) {
+        List<ChartSlice> positive = new ArrayList<>(slices.size());
+        long total = 0;
+        for (ChartSlice slice : slices) {
+            if (slice.getValue() > 0) {
+                positive.add(slice);
+                total += slice.getValue();
+            }
+        }
+        if (positive.size() <= MAX_SLICES && smallest(positive) >= total * MIN_FRACTION) {
+            return positive;
+        }
+        Integer[] bySize = new Integer[positive.size()];
+        for (int i = 0; i < bySize.length; i++) {
+            bySize[i] = i;
+        }
+        Arrays.sort(bySize, (a, b) -> Long.compare(positive.get(b).getValue(), positive.get(a).getValue()));
+        boolean[] kept = new boolean[positive.size()];
+        int keptCount = 0;
+        for (int index : bySize) {
+            if (keptCount == MAX_SLICES - 1 || positive.get(index).getValue() < total * MIN_FRACTION) {
+                break;
+            }
+            kept[index] = true;
+            keptCount++;
+        }
+        if (positive.size() - keptCount == 1 && positive.size() <= MAX_SLICES) {
+            // Nothing gained by renaming a single slice
+            return positive;
+        }
+        List<ChartSlice> merged = new ArrayList<>(keptCount + 1);
+        long other = 0;
+        for (int i = 0; i < positive.size(); i++) {
+            if (kept[i]) {
+                merged.add(positive.get(i));
+            } else {
+                other += positive.get(i).getValue();
+            }
+        }
+        merged.add(new ChartSlice(otherLabel, other, otherColor));
+        return merged;
+    }
+
+    private static long smallest(List<ChartSlice> slices) {
+        long smallest = Long.MAX_VALUE;
+        for (ChartSlice slice : slices) {
+            smallest = Math.min(smallest, slice.getValue());
+        }
+        return smallest;
+    }
+
+    // Fills ends[i] with the angle where slice i ends (the last one ends at 360) and returns the total
+    static long computeEnds(List<ChartSlice> slices, float[] ends) {
+        long total = 0;
+        for (ChartSlice slice : slices) {
+            total += slice.getValue();
+        }
+        long running = 0;
+        for (int i = 0; i < slices.size(); i++) {
+            running += slices.get(i).getValue();
+            ends[i] = total > 0 ? running * 360f / total : 0;
+        }
+        return total;
+    }
+
+    // Index of the slice under the angle, -1 if none. Binary search over the cumulative end angles.
+    static int indexAt(float[] ends, int count, float angle) {
+        if (count == 0 || angle < 0 || angle >= ends[count - 1]) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(ends, 0, count, angle);
+        // An exact hit on an end angle belongs to the next slice
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.mygamedemo;
+
+import java.util.Calendar;
+
+// How often a recurring rule repeats, in local time
+public enum RecurrenceFrequency {
+    WEEKLY(0, Calendar.WEEK_OF_YEAR),
+    MONTHLY(1, Calendar.MONTH),
+    YEARLY(2, Calendar.YEAR);
+
+    // code is what the local database stores
+    private final int code;
+    private final int calendarField;
+
+    RecurrenceFrequency(int code, int calendarField) {
+        this.code = code;
+        this.calendarField = calendarField;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static RecurrenceFrequency fromCode(int code) {
+        for (RecurrenceFrequency frequency : values()) {
+            if (frequency.code == code) {
+                return frequency;
+            }
+        }
+        return MONTHLY;
+    }
+
+    // Time of period n, period 0 being start itself. Counted from start every time, so a rule
+    // starting on the 31st falls on the last day of shorter months and is back on the 31st after.
+    public long occurrence(long start, int n) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(start);
+        calendar.add(calendarField, n);
+        return calendar.getTimeInMillis();
+    }
+}
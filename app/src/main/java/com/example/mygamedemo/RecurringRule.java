@@ -0,0 +1,96 @@
+package com.example.mygamedemo;
+
+import java.util.UUID;
+
+// A transaction the user wants repeated: rent, salary, subscriptions. Each period becomes an
+// ordinary transaction whose id is the rule id plus the period number, so materializing a period
+// again on a retry writes the same document instead of a duplicate. Rules live only in the
+// local store and are not synced; their occurrences upload like any other transaction.
+public class RecurringRule {
+    private static final String ID_PREFIX = "recurring-";
+
+    private final String id;
+    private final String note;
+    private final long amount;
+    private final TransactionType type;
+    private final String category;
+    private final RecurrenceFrequency frequency;
+    private final long start;
+    // First period not materialized yet
+    private final int nextPeriod;
+
+    public RecurringRule(String id, String note, long amount, TransactionType type, String category,
+                         RecurrenceFrequency frequency, long start, int nextPeriod) {
+        this.id = id;
+        this.note = note;
+        this.amount = amount;
+        this.type = type;
+        this.category = category;
+        this.frequency = frequency;
+        this.start = start;
+        this.nextPeriod = nextPeriod;
+    }
+
+    // A new rule whose first period is start
+    public static RecurringRule create(String note, long amount, TransactionType type, String category,
+                                       RecurrenceFrequency frequency, long start) {
+        return new RecurringRule(ID_PREFIX + UUID.randomUUID(), note, amount, type, category, frequency, start, 0);
+    }
+
+    // Rule id of a materialized transaction, null for any other transaction
+    public static String ruleIdOf(String transactionId) {
+        if (transactionId == null || !transactionId.startsWith(ID_PREFIX)) {
+            return null;
+        }
+        int separator = transactionId.lastIndexOf(':');
+        return separator > 0 ? transactionId.substring(0, separator) : null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public int getNextPeriod() {
+        return nextPeriod;
+    }
+
+    public long getOccurrenceTime(int period) {
+        return frequency.occurrence(start, period);
+    }
+
+    public String getOccurrenceId(int period) {
+        return id + ":" + period;
+    }
+
+    public TransactionModel occurrence(int period) {
+        return new TransactionModel(getOccurrenceId(period), note, amount, type, getOccurrenceTime(period), category);
+    }
+
+    public RecurringRule withNextPeriod(int period) {
+        return new RecurringRule(id, note, amount, type, category, frequency, start, period);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.mygamedemo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Turns the periods of every recurring rule that are due into queued transactions. All of them
+// go to the store in one transaction and reach the outbox together, so the flusher uploads a
+// run as one batched commit however many rules and periods it covers.
+public final class RecurringScheduler {
+    // Periods materialized per rule and run; after a long time offline the next runs catch up
+    static final int MAX_PERIODS_PER_RUN = 24;
+
+    private RecurringScheduler() {
+    }
+
+    // Runs on the io executor. Returns the number of transactions written.
+    public static int materializeDue(TransactionStore store, long now) {
+        List<TransactionModel> occurrences = new ArrayList<>();
+        List<RecurringRule> advanced = new ArrayList<>();
+        for (RecurringRule rule : store.getRecurringRules()) {
+            int period = rule.getNextPeriod();
+            int end = period + MAX_PERIODS_PER_RUN;
+            while (period < end && rule.getOccurrenceTime(period) <= now) {
+                occurrences.add(rule.occurrence(period));
+                period++;
+            }
+            if (period != rule.getNextPeriod()) {
+                advanced.add(rule.withNextPeriod(period));
+            }
+        }
+        if (advanced.isEmpty()) {
+            return 0;
+        }
+        // A period already in the store is never overwritten: that copy keeps its edits
+        List<String> ids = new ArrayList<>(occurrences.size());
+        for (TransactionModel occurrence : occurrences) {
+            ids.add(occurrence.getId());
+        }
+        Set<String> existing = store.findExisting(ids);
+        List<TransactionModel> missing = new ArrayList<>(occurrences.size());
+        for (TransactionModel occurrence : occurrences) {
+            if (!existing.contains(occurrence.getId())) {
+                occurrence.setUpdatedAt(now);
+                missing.add(occurrence);
+            }
+        }
+        store.queueOccurrences(missing, advanced);
+        return missing.size();
+    }
+}
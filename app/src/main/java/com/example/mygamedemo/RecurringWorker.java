@@ -0,0 +1,82 @@
+package com.example.mygamedemo;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.firebase.auth.FirebaseAuth;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Daily background run that materializes the recurring transactions that came due. WorkManager
+// batches it with other apps' jobs under the OS constraints, so the whole month of rent, salary
+// and subscriptions costs one wake-up that writes locally and queues a single upload.
+public class RecurringWorker extends Worker {
+    private static final String WORK_NAME = "recurring-transactions";
+    private static final long TIMEOUT_SECONDS = 60;
+
+    public RecurringWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    // Safe to call on every start: an already scheduled run is kept
+    public static void schedule(Context context) {
+        // No network constraint: occurrences are written locally, the outbox uploads them once online
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresBatteryNotLow(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(RecurringWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        if (FirebaseAuth.getInstance().getUid() == null) {
+            // Signed out: the rules belong to a user database that is not open
+            return Result.success();
+        }
+        TransactionRepository repository;
+        try {
+            repository = RepositoryProvider.transactions(getApplicationContext());
+        } catch (IllegalStateException e) {
+            // Signed out between the check and here: nothing to do until the next run
+            return Result.success();
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        boolean[] failed = new boolean[1];
+        repository.materializeRecurring(System.currentTimeMillis(),
+                new TransactionRepository.Callback<Integer>() {
+                    @Override
+                    public void onSuccess(Integer written) {
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        Log.e("RecurringWorker", "Could not materialize recurring transactions: " + e);
+                        failed[0] = true;
+                        done.countDown();
+                    }
+                });
+        try {
+            if (!done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS) || failed[0]) {
+                return Result.retry();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+        return Result.success();
+    }
+}
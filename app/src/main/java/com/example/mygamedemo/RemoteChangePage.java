@@ -0,0 +1,28 @@
+package com.example.mygamedemo;
+
+import java.util.List;
+
+// One page of remote changes plus the opaque cursor needed to fetch the next one
+public class RemoteChangePage {
+    private final List<TransactionModel> changes;
+    private final Object cursor;
+    private final boolean last;
+
+    public RemoteChangePage(List<TransactionModel> changes, Object cursor, boolean last) {
+        this.changes = changes;
+        this.cursor = cursor;
+        this.last = last;
+    }
+
+    public List<TransactionModel> getChanges() {
+        return changes;
+    }
+
+    public Object getCursor() {
+        return cursor;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+}
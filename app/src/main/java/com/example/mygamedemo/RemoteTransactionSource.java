@@ -0,0 +1,18 @@
+package com.example.mygamedemo;
+
+import java.util.List;
+
+// Remote copy of the transactions, used as a sync target by the repository
+public interface RemoteTransactionSource {
+
+    // One page of documents changed after the watermark, deletes included as models flagged deleted.
+    // A watermark of 0 returns everything. previous is null for the first page.
+    void fetchChangedSince(long watermark, RemoteChangePage previous, int limit,
+                           TransactionRepository.Callback<RemoteChangePage> callback);
+
+    // Real-time changes after the watermark; the first callback carries the current backlog
+    TransactionRepository.Subscription listen(long watermark, TransactionRepository.ChangeListener listener);
+
+    // Upload queued writes as one atomic batch (at most OutboxFlusher.MAX_BATCH_SIZE entries)
+    void commit(List<OutboxEntry> entries, TransactionRepository.Callback<Void> callback);
+}
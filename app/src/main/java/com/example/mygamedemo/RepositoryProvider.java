@@ -0,0 +1,73 @@
+package com.example.mygamedemo;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.core.content.ContextCompat;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Process-wide repository and screen cache for the signed-in user, rebuilt when the user changes.
+// Call reset on sign-out.
+public final class RepositoryProvider {
+    // A single thread keeps local writes in order
+    private static final ExecutorService IO_EXECUTOR = Executors.newSingleThreadExecutor();
+    // Decodes Firestore results, so neither the main thread nor local writes wait on it
+    private static final ExecutorService PIPELINE_EXECUTOR = Executors.newSingleThreadExecutor();
+    // Only used for delays: the flusher hops back to IO_EXECUTOR itself, the cache stays on the main thread
+    private static final Handler TIMER = new Handler(Looper.getMainLooper());
+
+    private static TransactionRepository repository;
+    private static TransactionCache cache;
+    private static String repositoryUid;
+
+    private RepositoryProvider() {
+    }
+
+    public static synchronized TransactionRepository transactions(Context context) {
+        String uid = FirebaseAuth.getInstance().getUid();
+        if (uid == null) {
+            throw new IllegalStateException("No signed-in user");
+        }
+        if (repository == null || !uid.equals(repositoryUid)) {
+            // Another user on this device: the old database and uploads must not outlive the switch
+            reset();
+            Context appContext = context.getApplicationContext();
+            // In the cache dir: the system may clear it, which only costs the instant first frame
+            DashboardSnapshotFile snapshots = new DashboardSnapshotFile(
+                    new File(appContext.getCacheDir(), "dashboard_" + uid + ".snap"));
+            repository = new LocalFirstTransactionRepository(
+                    new TransactionDatabase(appContext, uid),
+                    new FirestoreTransactionSource(FirebaseFirestore.getInstance(), uid, PIPELINE_EXECUTOR),
+                    IO_EXECUTOR,
+                    ContextCompat.getMainExecutor(appContext),
+                    TIMER::postDelayed,
+                    snapshots);
+            cache = new TransactionCache(repository, TIMER::postDelayed, snapshots);
+            repositoryUid = uid;
+        }
+        return repository;
+    }
+
+    // Closes the current user's database and stops its uploads; the next call builds them anew
+    public static synchronized void reset() {
+        if (repository != null) {
+            repository.close();
+        }
+        repository = null;
+        cache = null;
+        repositoryUid = null;
+    }
+
+    // Shared LiveData for the tabs; observe it with the screen's lifecycle
+    public static synchronized TransactionCache cache(Context context) {
+        transactions(context);
+        return cache;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.mygamedemo;
+
+import android.annotation.SuppressLint;
+import android.content.ContentResolver;
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+import com.google.firebase.auth.FirebaseAuth;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+public class SettingFragment extends Fragment {
+    private static final String[] IMPORT_TYPES = {"text/*", "application/x-ofx", "application/vnd.intu.qfx", "application/octet-stream"};
+
+    TransactionRepository transactionRepository;
+    Button importButton, exportCsvButton, exportJsonButton;
+    TextView transferStatus;
+
+    // Chọn file sao kê ngân hàng để nhập
+    private final ActivityResultLauncher<String[]> pickImportFile =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), uri -> {
+                if (uri != null) {
+                    importFile(uri);
+                }
+            });
+
+    // Chọn nơi lưu file xuất
+    private final ActivityResultLauncher<String> createCsvFile =
+            registerForActivityResult(new ActivityResultContracts.CreateDocument(TransactionExporter.Format.CSV.getMimeType()), uri -> {
+                if (uri != null) {
+                    exportFile(uri, TransactionExporter.Format.CSV);
+                }
+            });
+    private final ActivityResultLauncher<String> createJsonFile =
+            registerForActivityResult(new ActivityResultContracts.CreateDocument(TransactionExporter.Format.JSON.getMimeType()), uri -> {
+                if (uri != null) {
+                    exportFile(uri, TransactionExporter.Format.JSON);
+                }
+            });
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_setting, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        // Tham chiếu tới nút Logout
+        @SuppressLint({"MissingInflatedId", "LocalSuppress"}) Button logoutButton = view.findViewById(R.id.btn_logout);
+
+        // Gắn sự kiện nhấn nút Logout
+        logoutButton.setOnClickListener(v -> {
+            // Đăng xuất thật, nếu không LoginActivity sẽ chuyển thẳng lại màn hình chính
+            RepositoryProvider.reset(); // Đóng cơ sở dữ liệu và dừng đồng bộ của tài khoản cũ
+            FirebaseAuth.getInstance().signOut();
+            // Chuyển người dùng về LoginActivity
+            Intent intent = new Intent(requireContext(), LoginActivity.class);
+            startActivity(intent);
+            requireActivity().finish(); // Đóng màn hình chính
+        });
+
+        transactionRepository = RepositoryProvider.transactions(requireContext());
+        importButton = view.findViewById(R.id.btn_import);
+        transferStatus = view.findViewById(R.id.transfer_status);
+        importButton.setOnClickListener(v -> pickImportFile.launch(IMPORT_TYPES));
+        exportCsvButton = view.findViewById(R.id.btn_export_csv);
+        exportJsonButton = view.findViewById(R.id.btn_export_json);
+        exportCsvButton.setOnClickListener(v -> createCsvFile.launch(exportFileName(TransactionExporter.Format.CSV)));
+        exportJsonButton.setOnClickListener(v -> createJsonFile.launch(exportFileName(TransactionExporter.Format.JSON)));
+    }
+
+    private static String exportFileName(TransactionExporter.Format format) {
+        return "transactions_" + new SimpleDateFormat("yyyyMMdd", Locale.US).format(new Date()) + "." + format.getExtension();
+    }
+
+    private void setTransferButtonsEnabled(boolean enabled) {
+        importButton.setEnabled(enabled);
+        exportCsvButton.setEnabled(enabled);
+        exportJsonButton.setEnabled(enabled);
+    }
+
+    private void exportFile(Uri uri, TransactionExporter.Format format) {
+        setTransferButtonsEnabled(false);
+        transferStatus.setText("Exporting...");
+        // Việc xuất có thể chạy xong sau khi người dùng đã sang tab khác
+        ContentResolver resolver = requireContext().getContentResolver();
+        transactionRepository.exportTransactions(() -> {
+            OutputStream out = resolver.openOutputStream(uri, "wt");
+            if (out == null) {
+                throw new FileNotFoundException(uri.toString());
+            }
+            return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }, format, count -> transferStatus.setText("Exported " + count),
+                new TransactionRepository.Callback<Integer>() {
+                    @Override
+                    public void onSuccess(Integer count) {
+                        setTransferButtonsEnabled(true);
+                        transferStatus.setText("Exported " + count + " transactions");
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        setTransferButtonsEnabled(true);
+                        transferStatus.setText("");
+                        Toast.makeText(transferStatus.getContext(), "Export failed: " + e.getMessage(), Toast.LENGTH_LONG).show();
+                    }
+                });
+    }
+
+    private void importFile(Uri uri) {
+        setTransferButtonsEnabled(false);
+        transferStatus.setText("Importing...");
+        ContentResolver resolver = requireContext().getContentResolver();
+        transactionRepository.importTransactions(() -> {
+            InputStream in = resolver.openInputStream(uri);
+            if (in == null) {
+                throw new FileNotFoundException(uri.toString());
+            }
+            return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        }, progress -> transferStatus.setText("Imported " + progress.getImported()
+                + ", skipped " + (progress.getDuplicates() + progress.getInvalid())),
+                new TransactionRepository.Callback<TransactionImporter.Result>() {
+                    @Override
+                    public void onSuccess(TransactionImporter.Result result) {
+                        setTransferButtonsEnabled(true);
+                        transferStatus.setText("Imported " + result.getImported()
+                                + ", already present " + result.getDuplicates()
+                                + ", unreadable " + result.getInvalid());
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        setTransferButtonsEnabled(true);
+                        transferStatus.setText("");
+                        Toast.makeText(transferStatus.getContext(), "Import failed: " + e.getMessage(), Toast.LENGTH_LONG).show();
+                    }
+                });
+    }
+}
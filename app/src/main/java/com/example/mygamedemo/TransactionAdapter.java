@@ -8,58 +8,98 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.ArrayList;
+import java.util.Objects;
+
+// Submitted lists are diffed on a background thread (AsyncListDiffer), so a refresh
+// only rebinds the rows that changed and the scroll position is kept.
+public class TransactionAdapter extends ListAdapter<TransactionModel, TransactionAdapter.MyViewHolder> {
+    static final DiffUtil.ItemCallback<TransactionModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<TransactionModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TransactionModel oldItem, @NonNull TransactionModel newItem) {
+            return oldItem.getId().equals(newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TransactionModel oldItem, @NonNull TransactionModel newItem) {
+            return oldItem.getAmount() == newItem.getAmount()
+                    && oldItem.getTimestamp() == newItem.getTimestamp()
+                    && oldItem.getType() == newItem.getType()
+                    && Objects.equals(oldItem.getNote(), newItem.getNote())
+                    && Objects.equals(oldItem.getCategory(), newItem.getCategory())
+                    && oldItem.isPending() == newItem.isPending();
+        }
+    };
 
-public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.MyViewHolder>{
     Context context;
-    ArrayList<TransactionModel> transactionModelArrayList;
-    public TransactionAdapter(Context context, ArrayList<TransactionModel> transactionModelArrayList){
+
+    public TransactionAdapter(Context context){
+        super(DIFF_CALLBACK);
         this.context=context;
-        this.transactionModelArrayList=transactionModelArrayList;
+        setHasStableIds(true);
     }
 
     @NonNull
     @Override
     public MyViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.one_recycler_item,parent,false);
-        return new MyViewHolder(view);
+        MyViewHolder holder = new MyViewHolder(view);
+        holder.itemView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View view) {
+                int position = holder.getBindingAdapterPosition();
+                if (position == RecyclerView.NO_POSITION) {
+                    return;
+                }
+                TransactionModel model = getItem(position);
+                Intent intent=new Intent(context,UpdateActivity.class);
+                intent.putExtra("id",model.getId());
+                intent.putExtra("amount",model.getAmount());
+                intent.putExtra("note",model.getNote());
+                intent.putExtra("type",model.getType().getLabel());
+                intent.putExtra("timestamp",model.getTimestamp());
+                intent.putExtra("category",model.getCategory());
+                context.startActivity(intent);
+            }
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull MyViewHolder holder, int position) {
-        TransactionModel model=transactionModelArrayList.get(position);
-        String priority = model.getType();
-        if (priority.equals("Expense")){
+        TransactionModel model=getItem(position);
+        if (model.getType() == TransactionType.EXPENSE){
             holder.priority.setBackgroundResource(R.drawable.red_shape);
         }else{
             holder.priority.setBackgroundResource(R.drawable.green_shape);
         }
-        holder.amount.setText(model.getAmount());
-        holder.date.setText(model.getDate());
+        holder.amount.setText(Money.format(model.getAmount()));
+        holder.date.setText(TransactionDates.format(model.getTimestamp()));
         holder.note.setText(model.getNote());
-
-        holder.itemView.setOnClickListener(new View.OnClickListener() {
-            @Override
-            public void onClick(View view) {
-                Intent intent=new Intent(context,UpdateActivity.class);
-                intent.putExtra("id",transactionModelArrayList.get(position).getId());
-                intent.putExtra("amount",transactionModelArrayList.get(position).getAmount());
-                intent.putExtra("note",transactionModelArrayList.get(position).getNote());
-                intent.putExtra("type",transactionModelArrayList.get(position).getType());
-                context.startActivity(intent);
-            }
-        });
+        // Chưa đồng bộ lên server
+        holder.syncState.setVisibility(model.isPending() ? View.VISIBLE : View.GONE);
     }
 
     @Override
-    public int getItemCount() {
-        return transactionModelArrayList.size();
+    public long getItemId(int position) {
+        return stableId(getItem(position).getId());
+    }
+
+    // 64-bit FNV-1a of the string id: stable across reloads and needs no id-to-long map
+    static long stableId(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
     }
 
     public class MyViewHolder extends RecyclerView.ViewHolder{
-        TextView note,amount,date;
+        TextView note,amount,date,syncState;
         View priority;
         public MyViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -67,6 +107,7 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
             amount=itemView.findViewById(R.id.amount_one);
             date=itemView.findViewById(R.id.date_one);
             priority=itemView.findViewById(R.id.priority_one);
+            syncState=itemView.findViewById(R.id.sync_state_one);
         }
     }
 }
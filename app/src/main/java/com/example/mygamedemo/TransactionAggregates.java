@@ -0,0 +1,211 @@
+package com.example.mygamedemo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+// In-memory daily sums per type and category, held in Fenwick trees (one long[] per series) so
+// that any range of local days is two prefix-sum lookups, and a new transaction is one O(log n)
+// update. Built once from the store, then kept current through TransactionStore.RowObserver.
+// Not thread safe: the repository only touches it from its io executor.
+public class TransactionAggregates implements TransactionStore.AmountVisitor, TransactionStore.RowObserver {
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final int MIN_CAPACITY = 366;
+    // Category id of transactions without one
+    private static final int UNCATEGORIZED = 0;
+
+    private final TimeZone timeZone;
+    // Category names by id; index 0 is null (uncategorized)
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    // Index: categoryId * 2 + type code, null until the category is seen with that type
+    private final List<long[]> categoryTrees = new ArrayList<>();
+    // All categories, per type code
+    private final long[][] totalTrees = new long[2][];
+    // Day number (days since the epoch, local time) of tree index 1
+    private long originDay;
+    private int capacity;
+
+    public TransactionAggregates(TimeZone timeZone) {
+        this.timeZone = timeZone;
+        categories.add(null);
+        categoryTrees.add(null);
+        categoryTrees.add(null);
+    }
+
+    public static TransactionAggregates build(TransactionTable table) {
+        TransactionAggregates aggregates = new TransactionAggregates(TimeZone.getDefault());
+        table.scan(aggregates);
+        return aggregates;
+    }
+
+    // Build-time feed from TransactionTable.scan
+    @Override
+    public void visit(long timestamp, TransactionType type, long amount, String category) {
+        add(timestamp, type, category, amount);
+    }
+
+    @Override
+    public void onRowChanged(TransactionModel before, TransactionModel after) {
+        if (before != null) {
+            add(before.getTimestamp(), before.getType(), before.getCategory(), -before.getAmount());
+        }
+        if (after != null) {
+            add(after.getTimestamp(), after.getType(), after.getCategory(), after.getAmount());
+        }
+    }
+
+    // Local days from the day holding fromMillis to the day holding toMillis, both included
+    public TransactionTotals getTotals(long fromMillis, long toMillis) {
+        return new TransactionTotals(
+                rangeSum(totalTrees[TransactionType.INCOME.getCode()], fromMillis, toMillis),
+                rangeSum(totalTrees[TransactionType.EXPENSE.getCode()], fromMillis, toMillis));
+    }
+
+    public long getCategoryTotal(TransactionType type, String category, long fromMillis, long toMillis) {
+        String name = TransactionCategories.normalize(category);
+        Integer id = name == null ? Integer.valueOf(UNCATEGORIZED) : categoryIds.get(name);
+        if (id == null) {
+            return 0;
+        }
+        return rangeSum(categoryTrees.get(id * 2 + type.getCode()), fromMillis, toMillis);
+    }
+
+    // Largest first, empty categories left out
+    public List<CategoryTotal> getCategoryTotals(TransactionType type, long fromMillis, long toMillis) {
+        List<CategoryTotal> totals = new ArrayList<>();
+        for (int id = 0; id < categories.size(); id++) {
+            long sum = rangeSum(categoryTrees.get(id * 2 + type.getCode()), fromMillis, toMillis);
+            if (sum != 0) {
+                totals.add(new CategoryTotal(categories.get(id), sum));
+            }
+        }
+        totals.sort((a, b) -> Long.compare(b.getAmount(), a.getAmount()));
+        return totals;
+    }
+
+    private void add(long timestamp, TransactionType type, String category, long amount) {
+        if (timestamp <= 0 || amount == 0) {
+            // Unknown dates would pin the origin to 1970
+            return;
+        }
+        long day = dayOf(timestamp);
+        ensureCovers(day);
+        int index = (int) (day - originDay) + 1;
+        int typeCode = type.getCode();
+        if (totalTrees[typeCode] == null) {
+            totalTrees[typeCode] = new long[capacity + 1];
+        }
+        update(totalTrees[typeCode], index, amount);
+        int series = categoryId(category) * 2 + typeCode;
+        long[] tree = categoryTrees.get(series);
+        if (tree == null) {
+            tree = new long[capacity + 1];
+            categoryTrees.set(series, tree);
+        }
+        update(tree, index, amount);
+    }
+
+    private int categoryId(String category) {
+        String name = TransactionCategories.normalize(category);
+        if (name == null) {
+            return UNCATEGORIZED;
+        }
+        Integer id = categoryIds.get(name);
+        if (id == null) {
+            id = categories.size();
+            categories.add(name);
+            categoryIds.put(name, id);
+            categoryTrees.add(null);
+            categoryTrees.add(null);
+        }
+        return id;
+    }
+
+    // Split so Long.MIN_VALUE / Long.MAX_VALUE work as open range ends without overflowing
+    private long dayOf(long timestamp) {
+        return Math.floorDiv(timestamp, DAY_MS)
+                + Math.floorDiv(Math.floorMod(timestamp, DAY_MS) + timeZone.getOffset(timestamp), DAY_MS);
+    }
+
+    private long rangeSum(long[] tree, long fromMillis, long toMillis) {
+        if (tree == null || capacity == 0) {
+            return 0;
+        }
+        long from = Math.max(dayOf(fromMillis), originDay);
+        long to = Math.min(dayOf(toMillis), originDay + capacity - 1);
+        if (from > to) {
+            return 0;
+        }
+        return prefix(tree, (int) (to - originDay) + 1) - prefix(tree, (int) (from - originDay));
+    }
+
+    // Grows the day range when a transaction falls outside it, leaving room so this stays rare
+    private void ensureCovers(long day) {
+        if (capacity == 0) {
+            originDay = day - MIN_CAPACITY / 2;
+            capacity = MIN_CAPACITY;
+            return;
+        }
+        if (day >= originDay && day < originDay + capacity) {
+            return;
+        }
+        long newOrigin = originDay;
+        long newEnd = originDay + capacity;
+        long span = capacity;
+        if (day < originDay) {
+            newOrigin = Math.min(day, originDay - span);
+        } else {
+            newEnd = Math.max(day + 1, newEnd + span);
+        }
+        int newCapacity = (int) (newEnd - newOrigin);
+        int shift = (int) (originDay - newOrigin);
+        for (int i = 0; i < totalTrees.length; i++) {
+            totalTrees[i] = regrow(totalTrees[i], shift, newCapacity);
+        }
+        for (int i = 0; i < categoryTrees.size(); i++) {
+            categoryTrees.set(i, regrow(categoryTrees.get(i), shift, newCapacity));
+        }
+        originDay = newOrigin;
+        capacity = newCapacity;
+    }
+
+    // Rebuilds a tree over a wider range in O(n): recover the daily values, then build in place
+    private long[] regrow(long[] tree, int shift, int newCapacity) {
+        if (tree == null) {
+            return null;
+        }
+        long[] daily = tree.clone();
+        for (int i = capacity; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                daily[parent] -= tree[i];
+            }
+        }
+        long[] grown = new long[newCapacity + 1];
+        System.arraycopy(daily, 1, grown, 1 + shift, capacity);
+        for (int i = 1; i <= newCapacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= newCapacity) {
+                grown[parent] += grown[i];
+            }
+        }
+        return grown;
+    }
+
+    private static void update(long[] tree, int index, long delta) {
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static long prefix(long[] tree, int index) {
+        long sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.mygamedemo;
+
+import android.os.Trace;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Process-wide screen state: totals and the paged histories, shared by every tab and kept
+// across navigation. Screens observe the LiveData with their lifecycle; while at least one of them
+// is started, one remote listener keeps the state current. Switching tabs only re-delivers the
+// cached values, with no store or network reads. Main thread only.
+public class TransactionCache {
+    // How long the remote listener outlives the last started screen, so a short trip to a screen
+    // that does not observe (add, edit, settings) does not cost a new listener
+    static final long LINGER_MS = 30_000;
+
+    private final TransactionRepository repository;
+    // Must run tasks on the main thread
+    private final OutboxFlusher.Scheduler scheduler;
+    // Last dashboard of an earlier run, shown until the first local reads land; may be null
+    private final DashboardSnapshotFile snapshots;
+    private boolean snapshotRead;
+    private final StateLiveData<TransactionTotals> totals = new StateLiveData<TransactionTotals>() {
+        @Override
+        void load() {
+            loadTotals();
+        }
+
+        @Override
+        void beforeFirstLoad() {
+            seedFromSnapshot();
+        }
+    };
+    private final StateLiveData<TransactionTotals> monthTotals = new StateLiveData<TransactionTotals>() {
+        @Override
+        void load() {
+            loadMonthTotals();
+        }
+    };
+    // Keyed by type, null for the mixed history
+    private final Map<TransactionType, History> histories = new HashMap<>();
+
+    // Started observers over all LiveData; the remote listener runs while this is above 0
+    private int activeCount;
+    private TransactionRepository.Subscription liveSubscription;
+    // Bumped on every activation so a pending stop for an earlier inactive spell does nothing
+    private int activation;
+
+    public TransactionCache(TransactionRepository repository, OutboxFlusher.Scheduler scheduler) {
+        this(repository, scheduler, null);
+    }
+
+    public TransactionCache(TransactionRepository repository, OutboxFlusher.Scheduler scheduler,
+                            DashboardSnapshotFile snapshots) {
+        this.repository = repository;
+        this.scheduler = scheduler;
+        this.snapshots = snapshots;
+    }
+
+    // All-time totals
+    public LiveData<TransactionTotals> getTotals() {
+        return totals;
+    }
+
+    // Totals of the current month
+    public LiveData<TransactionTotals> getMonthTotals() {
+        return monthTotals;
+    }
+
+    // Newest first, as deep as any screen has scrolled; type null for both types
+    public LiveData<List<TransactionModel>> getHistory(TransactionType type) {
+        return history(type);
+    }
+
+    public void loadMore(TransactionType type) {
+        history(type).pager.loadNextPage();
+    }
+
+    public boolean isEndReached(TransactionType type) {
+        return history(type).pager.isEndReached();
+    }
+
+    // Re-read everything from the local store, e.g. after a manual sync
+    public void reload() {
+        totals.reload();
+        monthTotals.reload();
+        for (History history : histories.values()) {
+            history.reload();
+        }
+    }
+
+    private History history(TransactionType type) {
+        History history = histories.get(type);
+        if (history == null) {
+            history = new History(type);
+            histories.put(type, history);
+        }
+        return history;
+    }
+
+    private void loadTotals() {
+        repository.getTotals(new TransactionRepository.Callback<TransactionTotals>() {
+            @Override
+            public void onSuccess(TransactionTotals result) {
+                totals.setValue(result);
+                totals.fresh = true;
+                saveSnapshot();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Log.e("TransactionCache", "Error reading totals: " + e);
+            }
+        });
+    }
+
+    private void loadMonthTotals() {
+        int monthKey = TransactionPeriods.monthKey(System.currentTimeMillis());
+        repository.getMonthTotals(monthKey, new TransactionRepository.Callback<TransactionTotals>() {
+            @Override
+            public void onSuccess(TransactionTotals result) {
+                monthTotals.setValue(result);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Log.e("TransactionCache", "Error reading month totals: " + e);
+            }
+        });
+    }
+
+    // Runs once, on the main thread before the first frame: the file is one page of rows, so a
+    // synchronous read is cheaper than opening the database and far cheaper than a blank dashboard
+    private void seedFromSnapshot() {
+        if (snapshots == null || snapshotRead) {
+            return;
+        }
+        snapshotRead = true;
+        Trace.beginSection("TransactionCache.readSnapshot");
+        DashboardSnapshot snapshot = snapshots.read();
+        Trace.endSection();
+        if (snapshot == null) {
+            return;
+        }
+        if (totals.getValue() == null) {
+            totals.setValue(snapshot.getTotals());
+        }
+        History history = history(null);
+        if (history.getValue() == null) {
+            history.setValue(snapshot.getRows());
+        }
+    }
+
+    // Once both halves of the dashboard come from the store, keep them for the next cold start
+    private void saveSnapshot() {
+        History history = histories.get(null);
+        if (snapshots == null || !totals.fresh || history == null || !history.fresh) {
+            return;
+        }
+        List<TransactionModel> items = history.pager.getItems();
+        int count = Math.min(items.size(), TransactionPager.DEFAULT_PAGE_SIZE);
+        repository.saveDashboardSnapshot(totals.getValue(), new ArrayList<>(items.subList(0, count)));
+    }
+
+    private void onActive() {
+        if (activeCount++ > 0) {
+            return;
+        }
+        activation++;
+        // Back from the background, or from a screen that edited data without observing: the
+        // loaded state may be behind the local store, which is cheap to read again
+        reload();
+        if (liveSubscription != null) {
+            return;
+        }
+        liveSubscription = repository.listen(new TransactionRepository.ChangeListener() {
+            @Override
+            public void onChanges(List<TransactionModel> changes) {
+                // The only main-thread work of a live update: decoding and storing are done by now,
+                // and each pager merge is bounded by the rows on screen
+                Trace.beginSection("TransactionCache.applyChanges");
+                for (History history : histories.values()) {
+                    history.pager.applyChanges(changes);
+                }
+                totals.reload();
+                monthTotals.reload();
+                Trace.endSection();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.e("TransactionCache", "Live updates stopped: " + e);
+            }
+        });
+    }
+
+    private void onInactive() {
+        if (--activeCount > 0) {
+            return;
+        }
+        int inactiveSince = activation;
+        scheduler.schedule(() -> {
+            if (activeCount == 0 && activation == inactiveSince && liveSubscription != null) {
+                liveSubscription.remove();
+                liveSubscription = null;
+            }
+        }, LINGER_MS);
+    }
+
+    // Loads on its first observer; reloads are skipped until then
+    private abstract class StateLiveData<T> extends MutableLiveData<T> {
+        private boolean loaded;
+        // The value came from the store, not from the snapshot
+        boolean fresh;
+
+        abstract void load();
+
+        void beforeFirstLoad() {
+        }
+
+        void reload() {
+            if (loaded) {
+                load();
+            }
+        }
+
+        @Override
+        protected void onActive() {
+            // First, so a first load is not followed by a reload
+            TransactionCache.this.onActive();
+            if (!loaded) {
+                loaded = true;
+                beforeFirstLoad();
+                load();
+            }
+        }
+
+        @Override
+        protected void onInactive() {
+            TransactionCache.this.onInactive();
+        }
+    }
+
+    private class History extends StateLiveData<List<TransactionModel>> {
+        final TransactionType type;
+        final TransactionPager pager;
+
+        History(TransactionType type) {
+            this.type = type;
+            pager = new TransactionPager(repository, type, TransactionPager.DEFAULT_PAGE_SIZE,
+                    new TransactionPager.Listener() {
+                        @Override
+                        public void onPageLoaded(List<TransactionModel> items, int start, int count) {
+                            // Observers may hand the list to a ListAdapter, which needs it unchanged
+                            setValue(Collections.unmodifiableList(new ArrayList<>(items)));
+                            fresh = true;
+                            if (type == null && start == 0) {
+                                saveSnapshot();
+                            }
+                        }
+
+                        @Override
+                        public void onError(Exception e) {
+                            Log.e("TransactionCache", "Error reading local data: " + e);
+                        }
+                    });
+        }
+
+        @Override
+        void load() {
+            pager.refresh();
+        }
+
+        @Override
+        void beforeFirstLoad() {
+            if (type == null) {
+                seedFromSnapshot();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.mygamedemo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Category names as the user picks them; the stores intern them to integer ids
+public final class TransactionCategories {
+    // Offered before the user has made up any of their own
+    public static final List<String> DEFAULTS = Arrays.asList("Food", "Transport", "Home", "Bills",
+            "Shopping", "Health", "Entertainment", "Education", "Salary", "Bonus", "Gifts");
+
+    private TransactionCategories() {
+    }
+
+    // Trimmed, null for no category
+    public static String normalize(String category) {
+        if (category == null) {
+            return null;
+        }
+        String trimmed = category.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    // The user's own categories first, then the defaults they have not used yet
+    public static List<String> suggestions(List<String> used) {
+        Set<String> names = new LinkedHashSet<>(used);
+        names.addAll(DEFAULTS);
+        return new ArrayList<>(names);
+    }
+}
@@ -0,0 +1,651 @@
+package com.example.mygamedemo;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TransactionDatabase extends SQLiteOpenHelper implements TransactionStore {
+    private static final int VERSION = 9;
+    private static final String TABLE = "transactions";
+    private static final String SYNC_TABLE = "sync_state";
+    // Running income/expense sums per month plus one all-time row (period 0)
+    private static final String TOTALS_TABLE = "totals";
+    // Local edits not yet uploaded, one row per transaction id holding the latest sequence number
+    private static final String OUTBOX_TABLE = "outbox";
+    // Category dictionary: transactions point at it by integer id, 0 when uncategorized
+    private static final String CATEGORY_TABLE = "categories";
+    private static final long UNCATEGORIZED = 0;
+    private static final String RECURRING_TABLE = "recurring_rules";
+    private static final int MAX_QUERY_ARGS = 500;
+    private static final String NEWEST_FIRST = "timestamp DESC, id DESC";
+    private static final String[] COLUMNS = {"id", "note", "amount", "type", "timestamp", "category", "updated_at",
+            "EXISTS (SELECT 1 FROM " + OUTBOX_TABLE + " o WHERE o.id = " + TABLE + ".id) AS pending"};
+
+    // (before, after) pairs written by the open transaction, see beginWrite()
+    private final List<TransactionModel[]> rowChanges = new ArrayList<>();
+    private volatile RowObserver rowObserver;
+    // Dictionary ids by name, committed ones only: a rolled back insert may hand its id out again
+    private final Map<String, Long> categoryIds = new ConcurrentHashMap<>();
+    // Looked up or assigned by the open transaction
+    private final Map<String, Long> newCategoryIds = new HashMap<>();
+
+    // One database file per signed-in user
+    public TransactionDatabase(Context context, String uid) {
+        super(context, "transactions_" + uid + ".db", null, VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        createTransactionTable(db, TABLE);
+        createSyncTable(db);
+        createIndexes(db);
+        createTotalsTable(db);
+        createOutboxTable(db);
+        createTypeIndex(db);
+        createCategories(db);
+        createRecurringTable(db);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            db.execSQL("ALTER TABLE " + TABLE + " ADD COLUMN updated_at INTEGER NOT NULL DEFAULT 0");
+            createSyncTable(db);
+        }
+        if (oldVersion < 3) {
+            migrateToTypedColumns(db);
+        }
+        if (oldVersion < 4) {
+            createIndexes(db);
+        }
+        if (oldVersion < 5) {
+            createTotalsTable(db);
+            rebuildTotals(db);
+        }
+        if (oldVersion < 6) {
+            createOutboxTable(db);
+        }
+        if (oldVersion < 7) {
+            createTypeIndex(db);
+        }
+        if (oldVersion < 8) {
+            createCategories(db);
+        }
+        if (oldVersion < 9) {
+            createRecurringTable(db);
+        }
+    }
+
+    private static void createOutboxTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + OUTBOX_TABLE + " ("
+                + "id TEXT PRIMARY KEY, "
+                + "seq INTEGER NOT NULL, "
+                + "deleted INTEGER NOT NULL)");
+    }
+
+    private static void createTotalsTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TOTALS_TABLE + " ("
+                + "period INTEGER PRIMARY KEY, "
+                + "income INTEGER NOT NULL DEFAULT 0, "
+                + "expense INTEGER NOT NULL DEFAULT 0)");
+    }
+
+    // One full scan to seed the totals of rows written before they were maintained
+    private static void rebuildTotals(SQLiteDatabase db) {
+        String income = "SUM(CASE WHEN type = " + TransactionType.INCOME.getCode() + " THEN amount ELSE 0 END)";
+        String expense = "SUM(CASE WHEN type = " + TransactionType.EXPENSE.getCode() + " THEN amount ELSE 0 END)";
+        db.execSQL("DELETE FROM " + TOTALS_TABLE);
+        db.execSQL("INSERT INTO " + TOTALS_TABLE + " (period, income, expense) "
+                + "SELECT CAST(strftime('%Y%m', timestamp / 1000, 'unixepoch', 'localtime') AS INTEGER), "
+                + income + ", " + expense + " FROM " + TABLE + " GROUP BY 1");
+        db.execSQL("INSERT INTO " + TOTALS_TABLE + " (period, income, expense) "
+                + "SELECT " + TransactionPeriods.ALL_TIME + ", IFNULL(" + income + ", 0), IFNULL(" + expense + ", 0) FROM " + TABLE);
+    }
+
+    // Serves the newest-first history pages
+    private static void createIndexes(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX idx_transactions_timestamp ON " + TABLE + " (timestamp DESC, id DESC)");
+    }
+
+    // Serves the Expense and Income pages: equality on type, then already in history order
+    private static void createTypeIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX idx_transactions_type_timestamp ON " + TABLE + " (type, timestamp DESC, id DESC)");
+    }
+
+    // Interns the category names already stored, then indexes rows by (type, category id, history
+    // order) so a category filter is an index range instead of a scan comparing strings. The name
+    // stays on the row for reads, search and export.
+    private static void createCategories(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + CATEGORY_TABLE + " ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "name TEXT NOT NULL UNIQUE)");
+        db.execSQL("ALTER TABLE " + TABLE + " ADD COLUMN category_id INTEGER NOT NULL DEFAULT " + UNCATEGORIZED);
+        db.execSQL("INSERT OR IGNORE INTO " + CATEGORY_TABLE + " (name) SELECT DISTINCT TRIM(category) FROM " + TABLE
+                + " WHERE TRIM(category) != ''");
+        db.execSQL("UPDATE " + TABLE + " SET category_id = (SELECT c.id FROM " + CATEGORY_TABLE
+                + " c WHERE c.name = TRIM(" + TABLE + ".category)) WHERE TRIM(category) != ''");
+        db.execSQL("CREATE INDEX idx_transactions_type_category_timestamp ON " + TABLE
+                + " (type, category_id, timestamp DESC, id DESC)");
+    }
+
+    private static void createRecurringTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + RECURRING_TABLE + " ("
+                + "id TEXT PRIMARY KEY, "
+                + "note TEXT, "
+                + "amount INTEGER NOT NULL, "
+                + "type INTEGER NOT NULL, "
+                + "category TEXT, "
+                + "frequency INTEGER NOT NULL, "
+                + "start INTEGER NOT NULL, "
+                + "next_period INTEGER NOT NULL)");
+    }
+
+    private static void createTransactionTable(SQLiteDatabase db, String table) {
+        db.execSQL("CREATE TABLE " + table + " ("
+                + "id TEXT PRIMARY KEY, "
+                + "note TEXT, "
+                + "amount INTEGER NOT NULL, "
+                + "type INTEGER NOT NULL, "
+                + "timestamp INTEGER NOT NULL, "
+                + "category TEXT, "
+                + "updated_at INTEGER NOT NULL DEFAULT 0)");
+    }
+
+    private static void createSyncTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + SYNC_TABLE + " (watermark INTEGER NOT NULL)");
+        db.execSQL("INSERT INTO " + SYNC_TABLE + " (watermark) VALUES (0)");
+    }
+
+    // Version 2 kept amount, type and date as text; parse them once here
+    private static void migrateToTypedColumns(SQLiteDatabase db) {
+        createTransactionTable(db, TABLE + "_v3");
+        try (Cursor cursor = db.rawQuery("SELECT id, note, amount, type, date, category, updated_at FROM " + TABLE, null)) {
+            while (cursor.moveToNext()) {
+                TransactionType type = TransactionType.fromLabel(cursor.getString(3));
+                long amount;
+                try {
+                    amount = Money.parse(cursor.getString(2));
+                } catch (NumberFormatException e) {
+                    Log.e("TransactionDatabase", "Dropping row with invalid amount: " + cursor.getString(0), e);
+                    continue;
+                }
+                TransactionModel model = new TransactionModel(
+                        cursor.getString(0),
+                        cursor.getString(1),
+                        amount,
+                        type != null ? type : TransactionType.EXPENSE,
+                        TransactionDates.parseLegacy(cursor.getString(4)),
+                        cursor.getString(5));
+                model.setUpdatedAt(cursor.getLong(6));
+                db.insert(TABLE + "_v3", null, toValues(model));
+            }
+        }
+        db.execSQL("DROP TABLE " + TABLE);
+        db.execSQL("ALTER TABLE " + TABLE + "_v3 RENAME TO " + TABLE);
+        // Rows now carry different fields, pull everything again on the next sync
+        db.execSQL("UPDATE " + SYNC_TABLE + " SET watermark = 0");
+    }
+
+    @Override
+    public List<TransactionModel> getAll() {
+        List<TransactionModel> models = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(TABLE, COLUMNS, null, null, null, null, NEWEST_FIRST)) {
+            while (cursor.moveToNext()) {
+                models.add(read(cursor));
+            }
+        }
+        return models;
+    }
+
+    @Override
+    public List<TransactionModel> getPage(TransactionModel after, int limit) {
+        return getPage(null, after, limit);
+    }
+
+    @Override
+    public List<TransactionModel> getPage(TransactionType type, TransactionModel after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        if (type != null) {
+            conditions.add("type = ?");
+            args.add(String.valueOf(type.getCode()));
+        }
+        return queryPage(conditions, args, after, limit);
+    }
+
+    @Override
+    public List<TransactionModel> getCategoryPage(TransactionType type, String category, TransactionModel after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        conditions.add("type = ?");
+        args.add(String.valueOf(type.getCode()));
+        String name = TransactionCategories.normalize(category);
+        if (name == null) {
+            conditions.add("category_id = " + UNCATEGORIZED);
+        } else {
+            // Equality on both leading columns of idx_transactions_type_category_timestamp
+            conditions.add("category_id = (SELECT id FROM " + CATEGORY_TABLE + " WHERE name = ?)");
+            args.add(name);
+        }
+        return queryPage(conditions, args, after, limit);
+    }
+
+    @Override
+    public List<String> getCategories() {
+        List<String> names = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT name FROM " + CATEGORY_TABLE + " ORDER BY name COLLATE NOCASE", null)) {
+            while (cursor.moveToNext()) {
+                names.add(cursor.getString(0));
+            }
+        }
+        return names;
+    }
+
+    // Keyset paging after the given row on top of the caller's conditions
+    private List<TransactionModel> queryPage(List<String> conditions, List<String> args, TransactionModel after, int limit) {
+        if (after != null) {
+            String timestamp = String.valueOf(after.getTimestamp());
+            conditions.add("(timestamp < ? OR (timestamp = ? AND id < ?))");
+            args.add(timestamp);
+            args.add(timestamp);
+            args.add(after.getId());
+        }
+        String selection = conditions.isEmpty() ? null : String.join(" AND ", conditions);
+        List<TransactionModel> models = new ArrayList<>(limit);
+        try (Cursor cursor = getReadableDatabase().query(TABLE, COLUMNS, selection, args.toArray(new String[0]),
+                null, null, NEWEST_FIRST, String.valueOf(limit))) {
+            while (cursor.moveToNext()) {
+                models.add(read(cursor));
+            }
+        }
+        return models;
+    }
+
+    @Override
+    public TransactionTotals getTotals() {
+        return getMonthTotals(TransactionPeriods.ALL_TIME);
+    }
+
+    @Override
+    public TransactionTotals getMonthTotals(int monthKey) {
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT income, expense FROM " + TOTALS_TABLE + " WHERE period = ?",
+                new String[]{String.valueOf(monthKey)})) {
+            return cursor.moveToFirst()
+                    ? new TransactionTotals(cursor.getLong(0), cursor.getLong(1))
+                    : new TransactionTotals(0, 0);
+        }
+    }
+
+    @Override
+    public void scanAmounts(AmountVisitor visitor) {
+        // Walks idx_transactions_timestamp backwards, no sort needed
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT timestamp, type, amount, category FROM " + TABLE + " ORDER BY timestamp", null)) {
+            while (cursor.moveToNext()) {
+                visitor.visit(cursor.getLong(0), TransactionType.fromCode(cursor.getInt(1)), cursor.getLong(2),
+                        cursor.getString(3));
+            }
+        }
+    }
+
+    @Override
+    public TransactionModel get(String id) {
+        return get(getReadableDatabase(), id);
+    }
+
+    private static TransactionModel get(SQLiteDatabase db, String id) {
+        try (Cursor cursor = db.query(TABLE, COLUMNS, "id = ?", new String[]{id}, null, null, null)) {
+            return cursor.moveToFirst() ? read(cursor) : null;
+        }
+    }
+
+    // Row writes and totals updates must run inside a transaction opened with beginWrite()
+    private void write(SQLiteDatabase db, TransactionModel model) {
+        TransactionModel old = get(db, model.getId());
+        if (old != null) {
+            adjustTotals(db, old, -1);
+        }
+        ContentValues values = toValues(model);
+        values.put("category_id", categoryId(db, model.getCategory()));
+        db.insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        adjustTotals(db, model, 1);
+        rowChanges.add(new TransactionModel[]{old, model});
+    }
+
+    // Dictionary id of the name, added on first use; inside the open write transaction
+    private long categoryId(SQLiteDatabase db, String category) {
+        String name = TransactionCategories.normalize(category);
+        if (name == null) {
+            return UNCATEGORIZED;
+        }
+        Long id = categoryIds.get(name);
+        if (id == null) {
+            id = newCategoryIds.get(name);
+        }
+        if (id != null) {
+            return id;
+        }
+        ContentValues values = new ContentValues();
+        values.put("name", name);
+        long inserted = db.insertWithOnConflict(CATEGORY_TABLE, null, values, SQLiteDatabase.CONFLICT_IGNORE);
+        if (inserted == -1) {
+            try (Cursor cursor = db.rawQuery("SELECT id FROM " + CATEGORY_TABLE + " WHERE name = ?", new String[]{name})) {
+                cursor.moveToFirst();
+                inserted = cursor.getLong(0);
+            }
+        }
+        newCategoryIds.put(name, inserted);
+        return inserted;
+    }
+
+    private void delete(SQLiteDatabase db, String id) {
+        TransactionModel old = get(db, id);
+        if (old != null) {
+            db.delete(TABLE, "id = ?", new String[]{id});
+            adjustTotals(db, old, -1);
+            rowChanges.add(new TransactionModel[]{old, null});
+        }
+    }
+
+    private SQLiteDatabase beginWrite() {
+        rowChanges.clear();
+        newCategoryIds.clear();
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        return db;
+    }
+
+    // Called after endTransaction; an exception before it means nothing was committed
+    private void notifyRowChanges() {
+        categoryIds.putAll(newCategoryIds);
+        newCategoryIds.clear();
+        if (rowObserver != null) {
+            for (TransactionModel[] change : rowChanges) {
+                rowObserver.onRowChanged(change[0], change[1]);
+            }
+        }
+        rowChanges.clear();
+    }
+
+    @Override
+    public void setRowObserver(RowObserver observer) {
+        rowObserver = observer;
+    }
+
+    private static void adjustTotals(SQLiteDatabase db, TransactionModel model, int sign) {
+        long amount = sign * model.getAmount();
+        long income = model.getType() == TransactionType.INCOME ? amount : 0;
+        long expense = amount - income;
+        for (int period : new int[]{TransactionPeriods.ALL_TIME, TransactionPeriods.monthKey(model.getTimestamp())}) {
+            db.execSQL("INSERT OR IGNORE INTO " + TOTALS_TABLE + " (period) VALUES (?)", new Object[]{period});
+            db.execSQL("UPDATE " + TOTALS_TABLE + " SET income = income + ?, expense = expense + ? WHERE period = ?",
+                    new Object[]{income, expense, period});
+        }
+    }
+
+    @Override
+    public void put(TransactionModel model) {
+        SQLiteDatabase db = beginWrite();
+        try {
+            write(db, model);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        notifyRowChanges();
+    }
+
+    @Override
+    public void remove(String id) {
+        SQLiteDatabase db = beginWrite();
+        try {
+            delete(db, id);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        notifyRowChanges();
+    }
+
+    @Override
+    public void queuePut(TransactionModel model) {
+        SQLiteDatabase db = beginWrite();
+        try {
+            write(db, model);
+            enqueue(db, model.getId(), false);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        notifyRowChanges();
+    }
+
+    @Override
+    public void queueDelete(String id) {
+        SQLiteDatabase db = beginWrite();
+        try {
+            delete(db, id);
+            enqueue(db, id, true);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        notifyRowChanges();
+    }
+
+    @Override
+    public void queuePutAll(List<TransactionModel> models) {
+        SQLiteDatabase db = beginWrite();
+        try {
+            for (TransactionModel model : models) {
+                write(db, model);
+                enqueue(db, model.getId(), false);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        notifyRowChanges();
+    }
+
+    @Override
+    public List<RecurringRule> getRecurringRules() {
+        List<RecurringRule> rules = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT id, note, amount, type, category, frequency, start, next_period FROM " + RECURRING_TABLE
+                        + " ORDER BY start", null)) {
+            while (cursor.moveToNext()) {
+                rules.add(new RecurringRule(
+                        cursor.getString(0),
+                        cursor.getString(1),
+                        cursor.getLong(2),
+                        TransactionType.fromCode(cursor.getInt(3)),
+                        cursor.getString(4),
+                        RecurrenceFrequency.fromCode(cursor.getInt(5)),
+                        cursor.getLong(6),
+                        cursor.getInt(7)));
+            }
+        }
+        return rules;
+    }
+
+    @Override
+    public void putRecurringRule(RecurringRule rule) {
+        getWritableDatabase().insertWithOnConflict(RECURRING_TABLE, null, toValues(rule), SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    @Override
+    public void removeRecurringRule(String id) {
+        getWritableDatabase().delete(RECURRING_TABLE, "id = ?", new String[]{id});
+    }
+
+    @Override
+    public void queueOccurrences(List<TransactionModel> occurrences, List<RecurringRule> rules) {
+        SQLiteDatabase db = beginWrite();
+        try {
+            for (TransactionModel model : occurrences) {
+                write(db, model);
+                enqueue(db, model.getId(), false);
+            }
+            for (RecurringRule rule : rules) {
+                ContentValues values = new ContentValues();
+                values.put("next_period", rule.getNextPeriod());
+                // A rule removed meanwhile stays removed
+                db.update(RECURRING_TABLE, values, "id = ?", new String[]{rule.getId()});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        notifyRowChanges();
+    }
+
+    @Override
+    public Set<String> findExisting(Collection<String> ids) {
+        Set<String> existing = new HashSet<>();
+        List<String> remaining = new ArrayList<>(ids);
+        // Older SQLite builds allow at most 999 bound arguments per statement
+        for (int start = 0; start < remaining.size(); start += MAX_QUERY_ARGS) {
+            List<String> slice = remaining.subList(start, Math.min(start + MAX_QUERY_ARGS, remaining.size()));
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = 0; i < slice.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+            try (Cursor cursor = getReadableDatabase().rawQuery(
+                    "SELECT id FROM " + TABLE + " WHERE id IN (" + placeholders + ")",
+                    slice.toArray(new String[0]))) {
+                while (cursor.moveToNext()) {
+                    existing.add(cursor.getString(0));
+                }
+            }
+        }
+        return existing;
+    }
+
+    // Replaces any older entry for the id, so repeated edits upload once
+    private static void enqueue(SQLiteDatabase db, String id, boolean deleted) {
+        db.execSQL("INSERT OR REPLACE INTO " + OUTBOX_TABLE + " (id, seq, deleted) "
+                        + "VALUES (?, (SELECT IFNULL(MAX(seq), 0) + 1 FROM " + OUTBOX_TABLE + "), ?)",
+                new Object[]{id, deleted ? 1 : 0});
+    }
+
+    @Override
+    public List<OutboxEntry> getOutbox(int limit) {
+        List<OutboxEntry> entries = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT t.id, t.note, t.amount, t.type, t.timestamp, t.category, t.updated_at, 1, o.id, o.seq, o.deleted "
+                        + "FROM " + OUTBOX_TABLE + " o LEFT JOIN " + TABLE + " t ON t.id = o.id "
+                        + "ORDER BY o.seq LIMIT ?",
+                new String[]{String.valueOf(limit)})) {
+            while (cursor.moveToNext()) {
+                boolean deleted = cursor.getInt(10) != 0 || cursor.isNull(0);
+                entries.add(new OutboxEntry(cursor.getString(8), cursor.getLong(9), deleted ? null : read(cursor)));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void markSynced(List<OutboxEntry> entries) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (OutboxEntry entry : entries) {
+                db.delete(OUTBOX_TABLE, "id = ? AND seq = ?",
+                        new String[]{entry.getId(), String.valueOf(entry.getSequence())});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static boolean isQueued(SQLiteDatabase db, String id) {
+        try (Cursor cursor = db.rawQuery("SELECT 1 FROM " + OUTBOX_TABLE + " WHERE id = ?", new String[]{id})) {
+            return cursor.moveToFirst();
+        }
+    }
+
+    @Override
+    public long getSyncWatermark() {
+        try (Cursor cursor = getReadableDatabase().rawQuery("SELECT watermark FROM " + SYNC_TABLE, null)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    @Override
+    public void applyChanges(List<TransactionModel> changes, long syncWatermark) {
+        SQLiteDatabase db = beginWrite();
+        try {
+            for (TransactionModel model : changes) {
+                if (isQueued(db, model.getId())) {
+                    continue;
+                }
+                if (model.isDeleted()) {
+                    delete(db, model.getId());
+                } else {
+                    write(db, model);
+                }
+            }
+            ContentValues watermark = new ContentValues();
+            watermark.put("watermark", syncWatermark);
+            db.update(SYNC_TABLE, watermark, null, null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        notifyRowChanges();
+    }
+
+    private static TransactionModel read(Cursor cursor) {
+        TransactionModel model = new TransactionModel(
+                cursor.getString(0),
+                cursor.getString(1),
+                cursor.getLong(2),
+                TransactionType.fromCode(cursor.getInt(3)),
+                cursor.getLong(4),
+                cursor.getString(5));
+        model.setUpdatedAt(cursor.getLong(6));
+        model.setPending(cursor.getInt(7) != 0);
+        return model;
+    }
+
+    private static ContentValues toValues(RecurringRule rule) {
+        ContentValues values = new ContentValues();
+        values.put("id", rule.getId());
+        values.put("note", rule.getNote());
+        values.put("amount", rule.getAmount());
+        values.put("type", rule.getType().getCode());
+        values.put("category", rule.getCategory());
+        values.put("frequency", rule.getFrequency().getCode());
+        values.put("start", rule.getStart());
+        values.put("next_period", rule.getNextPeriod());
+        return values;
+    }
+
+    private static ContentValues toValues(TransactionModel model) {
+        ContentValues values = new ContentValues();
+        values.put("id", model.getId());
+        values.put("note", model.getNote());
+        values.put("amount", model.getAmount());
+        values.put("type", model.getType().getCode());
+        values.put("timestamp", model.getTimestamp());
+        values.put("category", model.getCategory());
+        values.put("updated_at", model.getUpdatedAt());
+        return values;
+    }
+}
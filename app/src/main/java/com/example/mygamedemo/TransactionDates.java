@@ -0,0 +1,38 @@
+package com.example.mygamedemo;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+// Conversion between epoch millis and the "dd MM yyyy_HH:mm" text older versions stored
+public final class TransactionDates {
+    public static final String LEGACY_PATTERN = "dd MM yyyy_HH:mm";
+
+    // SimpleDateFormat is not thread safe
+    private static final ThreadLocal<SimpleDateFormat> FORMAT = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat(LEGACY_PATTERN, Locale.getDefault());
+        }
+    };
+
+    private TransactionDates() {
+    }
+
+    public static String format(long timestamp) {
+        return FORMAT.get().format(new Date(timestamp));
+    }
+
+    // 0 when the text is missing or not in the legacy pattern
+    public static long parseLegacy(String date) {
+        if (date == null) {
+            return 0;
+        }
+        try {
+            return FORMAT.get().parse(date).getTime();
+        } catch (ParseException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.mygamedemo;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+// Streams the whole history to a file, newest first, one page at a time so memory use does not
+// grow with the history. Runs on the calling thread.
+public class TransactionExporter {
+    static final int PAGE_SIZE = 500;
+    // Also one of the patterns TransactionImportParser reads back
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        JSON("application/json", "json");
+
+        private final String mimeType;
+        private final String extension;
+
+        Format(String mimeType, String extension) {
+            this.mimeType = mimeType;
+            this.extension = extension;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    public interface Sink {
+        Writer open() throws IOException;
+    }
+
+    public interface ProgressListener {
+        void onProgress(int exported);
+    }
+
+    private final TransactionStore store;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_PATTERN, Locale.US);
+
+    public TransactionExporter(TransactionStore store) {
+        this.store = store;
+    }
+
+    // Returns the number of exported transactions
+    public int exportTo(Sink sink, Format format, ProgressListener listener) throws IOException {
+        int exported = 0;
+        try (Writer writer = sink.open()) {
+            if (format == Format.CSV) {
+                writer.write("id,date,amount,type,note,category\n");
+            } else {
+                writer.write("[");
+            }
+            TransactionModel last = null;
+            List<TransactionModel> page;
+            do {
+                page = store.getPage(last, PAGE_SIZE);
+                for (TransactionModel model : page) {
+                    if (format == Format.CSV) {
+                        writeCsv(writer, model);
+                    } else {
+                        writeJson(writer, model, exported == 0);
+                    }
+                    exported++;
+                }
+                if (!page.isEmpty()) {
+                    last = page.get(page.size() - 1);
+                    listener.onProgress(exported);
+                }
+            } while (page.size() == PAGE_SIZE);
+            if (format == Format.JSON) {
+                writer.write(exported == 0 ? "]\n" : "\n]\n");
+            }
+        }
+        return exported;
+    }
+
+    private void writeCsv(Writer writer, TransactionModel model) throws IOException {
+        writeCsvField(writer, model.getId());
+        writer.write(',');
+        writer.write(dateFormat.format(new Date(model.getTimestamp())));
+        writer.write(',');
+        writer.write(Money.format(model.getAmount()));
+        writer.write(',');
+        writer.write(model.getType().getLabel());
+        writer.write(',');
+        writeCsvField(writer, model.getNote());
+        writer.write(',');
+        writeCsvField(writer, model.getCategory());
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeJson(Writer writer, TransactionModel model, boolean first) throws IOException {
+        writer.write(first ? "\n  {\"id\": " : ",\n  {\"id\": ");
+        writeJsonString(writer, model.getId());
+        writer.write(", \"timestamp\": ");
+        writer.write(Long.toString(model.getTimestamp()));
+        writer.write(", \"date\": ");
+        writeJsonString(writer, dateFormat.format(new Date(model.getTimestamp())));
+        writer.write(", \"amountMinor\": ");
+        writer.write(Long.toString(model.getAmount()));
+        writer.write(", \"amount\": ");
+        writeJsonString(writer, Money.format(model.getAmount()));
+        writer.write(", \"type\": ");
+        writeJsonString(writer, model.getType().getLabel());
+        writer.write(", \"note\": ");
+        writeJsonString(writer, model.getNote());
+        writer.write(", \"category\": ");
+        writeJsonString(writer, model.getCategory());
+        writer.write('}');
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format(Locale.US, "\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+}
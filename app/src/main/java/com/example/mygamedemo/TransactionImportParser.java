@@ -0,0 +1,462 @@
+package com.example.mygamedemo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SimpleTimeZone;
+import java.util.UUID;
+
+// Reads a CSV or OFX bank export one transaction at a time, so the file is never held in memory.
+// CSV needs a header row naming at least a date and an amount (or debit/credit) column.
+public class TransactionImportParser {
+    private static final String[] DATE_PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm", "yyyy-MM-dd", "dd/MM/yyyy HH:mm", "dd/MM/yyyy",
+            "MM/dd/yyyy", "dd.MM.yyyy", TransactionDates.LEGACY_PATTERN};
+    private static final String[] DATE_COLUMNS = {"date", "timestamp", "posted", "posting date", "transaction date"};
+    // Rows and characters read ahead to choose the file's date pattern
+    private static final int DATE_SAMPLE_ROWS = 200;
+    private static final int DATE_SAMPLE_CHARS = 64 * 1024;
+    // Distinct identical-row keys remembered before the counter starts over
+    private static final int MAX_OCCURRENCES = 100_000;
+    // Raw epoch millis later than this far ahead are not dates
+    private static final long MAX_FUTURE_MS = 5L * 365 * 24 * 60 * 60 * 1000;
+
+    private final BufferedReader reader;
+    private final boolean ofx;
+    private int invalidRows;
+
+    // CSV state
+    private char separator;
+    private Map<String, Integer> columns;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    // Fixed for the whole file once readCsvHeader has sampled the dates
+    private final List<SimpleDateFormat> dateFormats = new ArrayList<>();
+    // Identical rows (two coffees on the same day) are numbered so each gets its own id. Kept for
+    // the whole file, since exports are not always sorted, and only cleared past MAX_OCCURRENCES.
+    private final Map<String, Integer> occurrences = new HashMap<>();
+
+    // OFX state
+    private final Map<String, String> ofxValues = new HashMap<>();
+    private String account = "";
+
+    public TransactionImportParser(Reader source) throws IOException {
+        reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        reader.mark(1024);
+        char[] head = new char[1024];
+        int read = reader.read(head);
+        reader.reset();
+        String start = read > 0 ? new String(head, 0, read) : "";
+        ofx = start.contains("OFXHEADER") || start.contains("<OFX>");
+        for (String pattern : DATE_PATTERNS) {
+            SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+            format.setLenient(false);
+            dateFormats.add(format);
+        }
+        if (!ofx) {
+            readCsvHeader();
+        }
+    }
+
+    // Next transaction, or null at the end of the file. Rows that cannot be read are counted and skipped.
+    public TransactionModel next() throws IOException {
+        while (true) {
+            TransactionModel model;
+            if (ofx) {
+                if (!readOfxTransaction()) {
+                    return null;
+                }
+                model = fromOfx();
+            } else {
+                if (!readCsvRecord()) {
+                    return null;
+                }
+                model = fromCsv();
+            }
+            if (model != null) {
+                return model;
+            }
+            invalidRows++;
+        }
+    }
+
+    public int getInvalidRows() {
+        return invalidRows;
+    }
+
+    private void readCsvHeader() throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IOException("Empty file");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        separator = count(header, ';') > count(header, ',') ? ';' : ',';
+        splitCsv(header);
+        columns = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            columns.put(fields.get(i).trim().toLowerCase(Locale.US), i);
+        }
+        if (column(DATE_COLUMNS) < 0
+                || (column("amount") < 0 && column("debit") < 0 && column("credit") < 0)) {
+            throw new IOException("CSV header needs a date and an amount column: " + header);
+        }
+        chooseDateFormats();
+    }
+
+    // 05/01/2024 reads as both dd/MM and MM/dd. Reads ahead until the rows leave one candidate
+    // (a 13/01/2024 settles it) and keeps that order for every row, so no date depends on the
+    // rows before it. Undecided files stay day first.
+    private void chooseDateFormats() throws IOException {
+        reader.mark(DATE_SAMPLE_CHARS * 2);
+        List<SimpleDateFormat> candidates = new ArrayList<>(dateFormats);
+        int read = 0;
+        for (int rows = 0; rows < DATE_SAMPLE_ROWS && read < DATE_SAMPLE_CHARS && candidates.size() > 1; rows++) {
+            String line = reader.readLine();
+            if (line == null) {
+                break;
+            }
+            read += line.length() + 2;
+            splitCsv(line);
+            String text = value(DATE_COLUMNS);
+            if (text == null) {
+                continue;
+            }
+            List<SimpleDateFormat> matching = new ArrayList<>();
+            for (SimpleDateFormat format : candidates) {
+                if (parse(format, text) != null) {
+                    matching.add(format);
+                }
+            }
+            // A row no candidate reads is invalid and says nothing about the file
+            if (!matching.isEmpty()) {
+                candidates = matching;
+            }
+        }
+        reader.reset();
+        List<SimpleDateFormat> ordered = new ArrayList<>(candidates);
+        for (SimpleDateFormat format : dateFormats) {
+            if (!ordered.contains(format)) {
+                ordered.add(format);
+            }
+        }
+        dateFormats.clear();
+        dateFormats.addAll(ordered);
+    }
+
+    private static int count(String text, char c) {
+        int n = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private int column(String... names) {
+        for (String name : names) {
+            Integer index = columns.get(name);
+            if (index != null) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private String value(String... names) {
+        int index = column(names);
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // A record can span several lines when a quoted field contains a line break
+    private boolean readCsvRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return false;
+            }
+        } while (line.trim().isEmpty());
+        StringBuilder record = new StringBuilder(line);
+        while (!splitCsv(record)) {
+            String more = reader.readLine();
+            if (more == null) {
+                break;
+            }
+            record.append('\n').append(more);
+        }
+        return true;
+    }
+
+    // Fills fields; false while a quoted field is still open
+    private boolean splitCsv(CharSequence line) {
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return !quoted;
+    }
+
+    private TransactionModel fromCsv() {
+        long timestamp = parseDate(value(DATE_COLUMNS));
+        Long amount = parseAmount(value("amount"));
+        if (amount == null) {
+            Long credit = parseAmount(value("credit"));
+            Long debit = parseAmount(value("debit"));
+            if (credit == null && debit == null) {
+                return null;
+            }
+            amount = (credit != null ? credit : 0) - (debit != null ? Math.abs(debit) : 0);
+        }
+        if (timestamp <= 0) {
+            return null;
+        }
+        String note = value("note", "description", "memo", "name", "payee");
+        TransactionType type = parseType(value("type"), amount);
+        String id = value("id");
+        if (id == null) {
+            if (occurrences.size() >= MAX_OCCURRENCES) {
+                occurrences.clear();
+            }
+            String key = timestamp + "|" + amount + "|" + note;
+            Integer seen = occurrences.get(key);
+            occurrences.put(key, seen == null ? 1 : seen + 1);
+            id = "csv_" + uuid(key + "#" + (seen == null ? 0 : seen));
+        }
+        return new TransactionModel(id, note, Math.abs(amount), type, timestamp, value("category"));
+    }
+
+    private static TransactionType parseType(String text, long amount) {
+        if (text != null) {
+            for (TransactionType type : TransactionType.values()) {
+                if (type.getLabel().equalsIgnoreCase(text)) {
+                    return type;
+                }
+            }
+        }
+        return amount < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+    }
+
+    // Tolerates currency symbols, grouping marks and accounting brackets: "(1,234.50 $)" -> -123450.
+    // The comma is the decimal mark in ';' files ("1.234,56") or when it is the last mark with one
+    // or two digits after it ("-12,50"); otherwise it groups thousands.
+    private Long parseAmount(String text) {
+        if (text == null) {
+            return null;
+        }
+        boolean negative = text.startsWith("(") && text.endsWith(")");
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.' || c == ',' || c == '-' || c == '+') {
+                digits.append(c);
+            }
+        }
+        int comma = digits.lastIndexOf(",");
+        int decimals = digits.length() - comma - 1;
+        if (comma > digits.lastIndexOf(".") && (separator == ';' || decimals == 1 || decimals == 2)) {
+            for (int i = digits.length() - 1; i >= 0; i--) {
+                if (digits.charAt(i) == '.') {
+                    digits.deleteCharAt(i);
+                }
+            }
+            comma = digits.lastIndexOf(",");
+            digits.setCharAt(comma, '.');
+        }
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            if (digits.charAt(i) == ',') {
+                digits.deleteCharAt(i);
+            }
+        }
+        try {
+            long amount = Money.parse(digits.toString());
+            return negative ? -Math.abs(amount) : amount;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 0 when no known pattern matches. Compact yyyyMMdd[HHmmss] digits read like OFX dates,
+    // other long digit runs as epoch millis between 1970 and a few years from now.
+    private long parseDate(String text) {
+        if (text == null) {
+            return 0;
+        }
+        if (isDigits(text)) {
+            if (text.length() == 8 || text.length() == 14) {
+                return parseOfxDate(text);
+            }
+            if (text.length() < 12) {
+                return 0;
+            }
+            try {
+                long millis = Long.parseLong(text);
+                return millis <= System.currentTimeMillis() + MAX_FUTURE_MS ? millis : 0;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        for (SimpleDateFormat format : dateFormats) {
+            Date date = parse(format, text);
+            if (date != null) {
+                return date.getTime();
+            }
+        }
+        return 0;
+    }
+
+    // null unless the whole text matches
+    private static Date parse(SimpleDateFormat format, String text) {
+        ParsePosition position = new ParsePosition(0);
+        Date date = format.parse(text, position);
+        return date != null && position.getIndex() == text.length() ? date : null;
+    }
+
+    private static boolean isDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Handles both SGML (unclosed leaf tags) and XML flavoured OFX
+    private boolean readOfxTransaction() throws IOException {
+        ofxValues.clear();
+        boolean inTransaction = false;
+        String tag = null;
+        StringBuilder text = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c != '<') {
+                if (tag != null) {
+                    text.append((char) c);
+                }
+                continue;
+            }
+            if (tag != null) {
+                String value = text.toString().trim();
+                if (!value.isEmpty()) {
+                    if (inTransaction) {
+                        ofxValues.put(tag, value);
+                    } else if (tag.equals("ACCTID")) {
+                        account = value;
+                    }
+                }
+            }
+            tag = readTag();
+            text.setLength(0);
+            if (tag.equals("STMTTRN")) {
+                inTransaction = true;
+            } else if (tag.equals("/STMTTRN")) {
+                return true;
+            } else if (tag.startsWith("/")) {
+                tag = null;
+            }
+        }
+        return false;
+    }
+
+    private String readTag() throws IOException {
+        StringBuilder tag = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '>') {
+            tag.append((char) c);
+        }
+        return tag.toString().trim().toUpperCase(Locale.US);
+    }
+
+    private TransactionModel fromOfx() {
+        String fitId = ofxValues.get("FITID");
+        Long amount = parseAmount(ofxValues.get("TRNAMT"));
+        long timestamp = parseOfxDate(ofxValues.get("DTPOSTED"));
+        if (fitId == null || amount == null || timestamp <= 0) {
+            return null;
+        }
+        String note = ofxValues.get("NAME");
+        String memo = ofxValues.get("MEMO");
+        if (note == null) {
+            note = memo;
+        } else if (memo != null && !memo.equals(note)) {
+            note = note + " " + memo;
+        }
+        // FITID is only unique within one account
+        String id = "ofx_" + uuid(account + "|" + fitId);
+        return new TransactionModel(id, note, Math.abs(amount),
+                amount < 0 ? TransactionType.EXPENSE : TransactionType.INCOME, timestamp);
+    }
+
+    // YYYYMMDD[HHMMSS[.XXX]][[+-]offset:TZ]; without an offset the time is local
+    private static long parseOfxDate(String text) {
+        if (text == null || text.length() < 8 || !isDigits(text.substring(0, 8))) {
+            return 0;
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        int bracket = text.indexOf('[');
+        if (bracket > 0 && text.endsWith("]")) {
+            String offset = text.substring(bracket + 1, text.length() - 1);
+            int colon = offset.indexOf(':');
+            try {
+                float hours = Float.parseFloat(colon >= 0 ? offset.substring(0, colon) : offset);
+                calendar.setTimeZone(new SimpleTimeZone(Math.round(hours * 3600_000), "OFX"));
+            } catch (NumberFormatException e) {
+                // Unknown offset, keep local time
+            }
+        }
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        if (text.length() >= 14 && isDigits(text.substring(8, 14))) {
+            hour = Integer.parseInt(text.substring(8, 10));
+            minute = Integer.parseInt(text.substring(10, 12));
+            second = Integer.parseInt(text.substring(12, 14));
+        }
+        calendar.set(Integer.parseInt(text.substring(0, 4)), Integer.parseInt(text.substring(4, 6)) - 1,
+                Integer.parseInt(text.substring(6, 8)), hour, minute, second);
+        return calendar.getTimeInMillis();
+    }
+
+    private static String uuid(String key) {
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.mygamedemo;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Streams a bank export into the local store in chunks; the outbox uploads the new rows afterwards.
+// Runs on the calling thread.
+public class TransactionImporter {
+    // One SQLite transaction per chunk, and a chunk fills exactly one upload batch
+    static final int CHUNK_SIZE = OutboxFlusher.MAX_BATCH_SIZE;
+
+    public interface Source {
+        Reader open() throws IOException;
+    }
+
+    public interface ProgressListener {
+        void onProgress(Result progress);
+    }
+
+    public static class Result {
+        private final int imported;
+        private final int duplicates;
+        private final int invalid;
+
+        public Result(int imported, int duplicates, int invalid) {
+            this.imported = imported;
+            this.duplicates = duplicates;
+            this.invalid = invalid;
+        }
+
+        public int getImported() {
+            return imported;
+        }
+
+        // Already in the store, usually from an earlier import of the same file
+        public int getDuplicates() {
+            return duplicates;
+        }
+
+        public int getInvalid() {
+            return invalid;
+        }
+    }
+
+    private final TransactionStore store;
+
+    public TransactionImporter(TransactionStore store) {
+        this.store = store;
+    }
+
+    public Result importFrom(Source source, ProgressListener listener) throws IOException {
+        int imported = 0;
+        int duplicates = 0;
+        try (Reader reader = source.open()) {
+            TransactionImportParser parser = new TransactionImportParser(reader);
+            List<TransactionModel> chunk = new ArrayList<>(CHUNK_SIZE);
+            Set<String> chunkIds = new HashSet<>();
+            TransactionModel model;
+            do {
+                model = parser.next();
+                // The same id twice in one chunk only keeps the first
+                if (model != null && chunkIds.add(model.getId())) {
+                    chunk.add(model);
+                } else if (model != null) {
+                    duplicates++;
+                }
+                if (chunk.size() == CHUNK_SIZE || (model == null && !chunk.isEmpty())) {
+                    int written = writeChunk(chunk, chunkIds);
+                    imported += written;
+                    duplicates += chunk.size() - written;
+                    chunk.clear();
+                    chunkIds.clear();
+                    listener.onProgress(new Result(imported, duplicates, parser.getInvalidRows()));
+                }
+            } while (model != null);
+            return new Result(imported, duplicates, parser.getInvalidRows());
+        }
+    }
+
+    private int writeChunk(List<TransactionModel> chunk, Set<String> chunkIds) {
+        Set<String> existing = store.findExisting(chunkIds);
+        List<TransactionModel> fresh = new ArrayList<>(chunk.size());
+        long now = System.currentTimeMillis();
+        for (TransactionModel model : chunk) {
+            if (!existing.contains(model.getId())) {
+                model.setUpdatedAt(now);
+                fresh.add(model);
+            }
+        }
+        store.queuePutAll(fresh);
+        return fresh.size();
+    }
+}
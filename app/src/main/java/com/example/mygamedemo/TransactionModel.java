@@ -1,22 +1,36 @@
 package com.example.mygamedemo;
 
 public class TransactionModel  {
-    private String id,note,amount,type, date;
+    private String id,note,category;
+    // Amount in minor units (see Money), timestamp in epoch millis
+    private long amount;
+    private TransactionType type;
+    private long timestamp;
+    // Millis of the last change, and whether the change was a delete (used by delta sync)
+    private long updatedAt;
+    private boolean deleted;
+    // Local edit not uploaded yet (read from the outbox, not stored on the row)
+    private boolean pending;
 
-    public TransactionModel(String id, String note,String amount,String type,String date){
+    public TransactionModel(String id, String note,long amount,TransactionType type,long timestamp){
+        this(id, note, amount, type, timestamp, null);
+    }
+
+    public TransactionModel(String id, String note,long amount,TransactionType type,long timestamp,String category){
         this.id=id;
         this.note=note;
         this.amount=amount;
         this.type=type;
-        this.date=date;
+        this.timestamp=timestamp;
+        this.category=category;
     }
 
-    public String getDate() {
-        return date;
+    public long getTimestamp() {
+        return timestamp;
     }
 
-    public void setDate(String date) {
-        this.date = date;
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
     }
 
     public String getId(){
@@ -35,19 +49,51 @@ public class TransactionModel  {
         this.note = note;
     }
 
-    public String getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(String amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 
-    public String getType() {
+    public TransactionType getType() {
         return type;
     }
 
-    public void setType(String type) {
+    public void setType(TransactionType type) {
         this.type = type;
     }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public void setPending(boolean pending) {
+        this.pending = pending;
+    }
 }
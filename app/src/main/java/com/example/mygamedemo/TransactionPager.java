@@ -0,0 +1,139 @@
+package com.example.mygamedemo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// PagingSource-style loader for the history list: loads newest-first pages on demand
+// and keeps only what the user has scrolled through.
+public class TransactionPager {
+    public static final int DEFAULT_PAGE_SIZE = 30;
+
+    // History order, same as the local store: timestamp DESC, id DESC
+    public static final Comparator<TransactionModel> NEWEST_FIRST = (a, b) -> {
+        int byTime = Long.compare(b.getTimestamp(), a.getTimestamp());
+        return byTime != 0 ? byTime : b.getId().compareTo(a.getId());
+    };
+
+    public interface Listener {
+        // start == 0 means the list was reloaded from the top
+        void onPageLoaded(List<TransactionModel> items, int start, int count);
+
+        void onError(Exception e);
+    }
+
+    private final TransactionRepository repository;
+    // null for the mixed history
+    private final TransactionType type;
+    private final int pageSize;
+    private final Listener listener;
+    private final List<TransactionModel> items = new ArrayList<>();
+
+    private boolean loading;
+    private boolean endReached;
+    // Bumped on every reload so late answers for an old list are dropped
+    private int generation;
+
+    public TransactionPager(TransactionRepository repository, int pageSize, Listener listener) {
+        this(repository, null, pageSize, listener);
+    }
+
+    // Only rows of the given type, served by the (type, timestamp) index
+    public TransactionPager(TransactionRepository repository, TransactionType type, int pageSize, Listener listener) {
+        this.repository = repository;
+        this.type = type;
+        this.pageSize = pageSize;
+        this.listener = listener;
+    }
+
+    public List<TransactionModel> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public boolean isEndReached() {
+        return endReached;
+    }
+
+    // Reload from the top, as deep as the user had already scrolled so the position survives
+    public void refresh() {
+        generation++;
+        int size = Math.max(pageSize, items.size());
+        loading = true;
+        load(null, size, true);
+    }
+
+    public void loadNextPage() {
+        if (loading || endReached) {
+            return;
+        }
+        loading = true;
+        load(items.isEmpty() ? null : items.get(items.size() - 1), pageSize, false);
+    }
+
+    // Patch live changes into the loaded rows instead of reloading the pages. Runs on the main
+    // thread, so the work is one pass over the loaded rows plus a binary search per change; a
+    // batch larger than a page (a first sync, an import on another device) is cheaper to read
+    // again from the local store, which already holds it, on the io thread.
+    public void applyChanges(List<TransactionModel> changes) {
+        if (changes.size() > pageSize) {
+            refresh();
+            return;
+        }
+        Set<String> changedIds = new HashSet<>();
+        for (TransactionModel change : changes) {
+            changedIds.add(change.getId());
+        }
+        boolean changed = items.removeIf(item -> changedIds.contains(item.getId()));
+        for (TransactionModel change : changes) {
+            if (change.isDeleted() || (type != null && change.getType() != type) || !isInLoadedRange(change)) {
+                continue;
+            }
+            int index = Collections.binarySearch(items, change, NEWEST_FIRST);
+            items.add(index < 0 ? -index - 1 : index, change);
+            changed = true;
+        }
+        if (changed) {
+            listener.onPageLoaded(getItems(), 0, items.size());
+        }
+    }
+
+    // Rows past the last loaded one will come with a later page
+    private boolean isInLoadedRange(TransactionModel model) {
+        if (endReached) {
+            return true;
+        }
+        return !items.isEmpty() && NEWEST_FIRST.compare(model, items.get(items.size() - 1)) < 0;
+    }
+
+    private void load(TransactionModel after, int size, boolean reset) {
+        int requestGeneration = generation;
+        repository.loadPage(type, after, size, new TransactionRepository.Callback<List<TransactionModel>>() {
+            @Override
+            public void onSuccess(List<TransactionModel> page) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                endReached = page.size() < size;
+                if (reset) {
+                    items.clear();
+                }
+                int start = items.size();
+                items.addAll(page);
+                listener.onPageLoaded(getItems(), start, page.size());
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                listener.onError(e);
+            }
+        });
+    }
+}
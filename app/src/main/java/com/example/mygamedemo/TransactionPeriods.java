@@ -0,0 +1,58 @@
+package com.example.mygamedemo;
+
+import java.util.Calendar;
+
+// Calendar keys used to bucket transactions, in the device time zone
+public final class TransactionPeriods {
+    // Key of the all-time row in the totals table
+    public static final int ALL_TIME = 0;
+
+    private TransactionPeriods() {
+    }
+
+    // yyyymm, e.g. 202412 for December 2024
+    public static int monthKey(long timestamp) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(timestamp);
+        return calendar.get(Calendar.YEAR) * 100 + calendar.get(Calendar.MONTH) + 1;
+    }
+
+    // Midnight on the first day of the month holding timestamp
+    public static long startOfMonth(long timestamp) {
+        Calendar calendar = startOfDay(timestamp);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        return calendar.getTimeInMillis();
+    }
+
+    // Midnight days - 1 days before the day holding timestamp, so the range covers days whole days
+    public static long startOfLastDays(long timestamp, int days) {
+        Calendar calendar = startOfDay(timestamp);
+        calendar.add(Calendar.DAY_OF_MONTH, 1 - days);
+        return calendar.getTimeInMillis();
+    }
+
+    // Midnight at the start of the day holding timestamp; Long.MIN_VALUE stays an open range end
+    public static long firstMillisOfDay(long timestamp) {
+        return timestamp == Long.MIN_VALUE ? timestamp : startOfDay(timestamp).getTimeInMillis();
+    }
+
+    // Last millisecond of the day holding timestamp; Long.MAX_VALUE stays an open range end
+    public static long lastMillisOfDay(long timestamp) {
+        if (timestamp == Long.MAX_VALUE) {
+            return timestamp;
+        }
+        Calendar calendar = startOfDay(timestamp);
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        return calendar.getTimeInMillis() - 1;
+    }
+
+    private static Calendar startOfDay(long timestamp) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(timestamp);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.mygamedemo;
+
+import java.util.List;
+
+// Entry point for every screen that reads or writes transactions.
+// Implementations answer reads from the on-device store and sync with the remote in the background.
+public interface TransactionRepository {
+
+    void getAll(Callback<List<TransactionModel>> callback);
+
+    // Keyset paging, newest first: pass the last row of the previous page, or null for the first page.
+    // A null type pages through both types.
+    void loadPage(TransactionType type, TransactionModel after, int pageSize, Callback<List<TransactionModel>> callback);
+
+    // Same, within one category of one type; a null category pages the uncategorized rows
+    void loadCategoryPage(TransactionType type, String category, TransactionModel after, int pageSize,
+                          Callback<List<TransactionModel>> callback);
+
+    // Category names used so far, by name
+    void getCategories(Callback<List<String>> callback);
+
+    void getTotals(Callback<TransactionTotals> callback);
+
+    void getMonthTotals(int monthKey, Callback<TransactionTotals> callback);
+
+    // Date range queries cover whole local days, from the day holding fromMillis to the day holding toMillis
+    void getRangeTotals(long fromMillis, long toMillis, Callback<TransactionTotals> callback);
+
+    // Largest first, transactions without a category grouped under null
+    void getCategoryTotals(TransactionType type, long fromMillis, long toMillis,
+                           Callback<List<CategoryTotal>> callback);
+
+    // Income and expense per bucket, each line downsampled to at most maxPoints points
+    void getTrend(TrendGranularity granularity, int maxPoints, Callback<TrendAggregator.Trend> callback);
+
+    // Type-ahead search over note, category, amount and date; every word of the query must match
+    // the start of a word in the transaction. type may be null for both types. Best matches first.
+    void search(String query, TransactionType type, int limit, Callback<List<TransactionModel>> callback);
+
+    void add(TransactionModel model, Callback<Void> callback);
+
+    void update(TransactionModel model, Callback<Void> callback);
+
+    void delete(String id, Callback<Void> callback);
+
+    // Bulk import of a CSV/OFX export; rows whose id already exists are skipped.
+    // Progress is reported after every chunk.
+    void importTransactions(TransactionImporter.Source source, TransactionImporter.ProgressListener progress,
+                            Callback<TransactionImporter.Result> callback);
+
+    // Writes the whole history to the sink page by page; the callback gets the number of rows written
+    void exportTransactions(TransactionExporter.Sink sink, TransactionExporter.Format format,
+                            TransactionExporter.ProgressListener progress, Callback<Integer> callback);
+
+    // Keeps what the dashboard shows for the next cold start, stamped with the current sync
+    // watermark; a later sync drops it. Does nothing without a snapshot file.
+    void saveDashboardSnapshot(TransactionTotals totals, List<TransactionModel> firstPage);
+
+    // Saves the rule on this device and materializes its periods that are already due, this one
+    // included when it starts now; the callback gets the number of transactions written
+    void addRecurringRule(RecurringRule rule, Callback<Integer> callback);
+
+    // Stops future periods; transactions already materialized stay
+    void deleteRecurringRule(String ruleId, Callback<Void> callback);
+
+    // Materializes the due periods of every rule as one batch of queued writes, see RecurringScheduler
+    void materializeRecurring(long now, Callback<Integer> callback);
+
+    // Sign-out: ends live subscriptions and uploads, then closes the local store.
+    // The repository cannot be used afterwards.
+    void close();
+
+    // Pull remote changes made since the last refresh into the local store
+    void refresh(Callback<Void> callback);
+
+    // Live mode: remote changes are applied to the local store as they happen and then
+    // reported to the listener. Remove the subscription when the screen stops.
+    Subscription listen(ChangeListener listener);
+
+    interface Callback<T> {
+        void onSuccess(T result);
+
+        void onFailure(Exception e);
+    }
+
+    interface ChangeListener {
+        // Added/modified rows, and deleted ones flagged isDeleted()
+        void onChanges(List<TransactionModel> changes);
+
+        void onError(Exception e);
+    }
+
+    interface Subscription {
+        void remove();
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.mygamedemo;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// In-memory inverted index over note, category, amount and date of every transaction, for
+// type-ahead search. Tokens are lower case with Vietnamese accents folded ("Cà phê" -> "ca", "phe"),
+// and every query term matches as a prefix, so results show up while the user is still typing.
+// Built once from the store, then kept current through TransactionStore.RowObserver.
+// Not thread safe: the repository only touches it from its io executor.
+public class TransactionSearchIndex implements TransactionStore.RowObserver {
+    private static final int EXACT_SCORE = 2;
+    private static final int PREFIX_SCORE = 1;
+
+    // Accent-free lower case of every char below FOLD_LIMIT (Latin up to Latin Extended Additional,
+    // which holds the Vietnamese letters), so folding a note is a table lookup per char
+    private static final int FOLD_LIMIT = 0x1F00;
+    private static final char[] FOLD_TABLE = buildFoldTable();
+
+    // Token -> slots of the transactions holding it
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Every token, sorted so a prefix is one contiguous run. Tokens seen since the last query wait
+    // in newTokens and are merged in by the next query; tokens that lost their last transaction
+    // stay until then too, so building and editing never pay for keeping the order.
+    private String[] sortedTokens = new String[0];
+    private final List<String> newTokens = new ArrayList<>();
+    private boolean tokensRemoved;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private TransactionModel[] models = new TransactionModel[64];
+    private String[][] modelTokens = new String[64][];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+
+    // Per-query scratch, sized with models and reset after every query
+    private int[] matchedTerms = new int[64];
+    private int[] termScores = new int[64];
+    private int[] scores = new int[64];
+    private final Postings candidates = new Postings();
+
+    public static TransactionSearchIndex build(TransactionStore store) {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        for (TransactionModel model : store.getAll()) {
+            index.add(model);
+        }
+        index.mergeNewTokens();
+        return index;
+    }
+
+    @Override
+    public void onRowChanged(TransactionModel before, TransactionModel after) {
+        if (before != null) {
+            remove(before.getId());
+        }
+        if (after != null) {
+            add(after);
+        }
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    // Transactions holding every term of the query (the type filter is optional), best match first,
+    // newest first among equal matches
+    public List<TransactionModel> search(String query, TransactionType type, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        mergeNewTokens();
+        candidates.size = 0;
+        for (int term = 0; term < terms.size(); term++) {
+            String prefix = terms.get(term);
+            int from = Arrays.binarySearch(sortedTokens, prefix);
+            for (int t = from >= 0 ? from : -from - 1; t < sortedTokens.length && sortedTokens[t].startsWith(prefix); t++) {
+                int score = sortedTokens[t].length() == prefix.length() ? EXACT_SCORE : PREFIX_SCORE;
+                Postings list = postings.get(sortedTokens[t]);
+                for (int i = 0; i < list.size; i++) {
+                    match(list.slots[i], term, score, type);
+                }
+            }
+        }
+
+        // Keep the best limit candidates that matched every term, in order
+        int[] top = new int[Math.min(limit, candidates.size)];
+        int topCount = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            int slot = candidates.slots[i];
+            if (matchedTerms[slot] == terms.size()) {
+                int position = topCount;
+                while (position > 0 && ranksBefore(slot, top[position - 1])) {
+                    position--;
+                }
+                if (position < top.length) {
+                    int end = Math.min(topCount, top.length - 1);
+                    System.arraycopy(top, position, top, position + 1, end - position);
+                    top[position] = slot;
+                    topCount = end + 1;
+                }
+            }
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            matchedTerms[candidates.slots[i]] = 0;
+            scores[candidates.slots[i]] = 0;
+        }
+        List<TransactionModel> results = new ArrayList<>(topCount);
+        for (int i = 0; i < topCount; i++) {
+            results.add(models[top[i]]);
+        }
+        return results;
+    }
+
+    // A transaction counts for term k only if it matched terms 0..k-1; several tokens can
+    // match one term, the best of them is kept
+    private void match(int slot, int term, int score, TransactionType type) {
+        if (matchedTerms[slot] == term) {
+            if (term == 0) {
+                if (type != null && models[slot].getType() != type) {
+                    return;
+                }
+                candidates.add(slot);
+            }
+            matchedTerms[slot] = term + 1;
+            termScores[slot] = score;
+            scores[slot] += score;
+        } else if (matchedTerms[slot] == term + 1 && score > termScores[slot]) {
+            scores[slot] += score - termScores[slot];
+            termScores[slot] = score;
+        }
+    }
+
+    // One sort of the new tokens and a linear merge, dropping tokens without transactions; a
+    // token removed and added again can be on both sides, so equal neighbours are skipped
+    private void mergeNewTokens() {
+        if (newTokens.isEmpty() && !tokensRemoved) {
+            return;
+        }
+        String[] added = newTokens.toArray(new String[0]);
+        Arrays.sort(added);
+        String[] merged = new String[postings.size()];
+        int count = 0;
+        int a = 0;
+        int b = 0;
+        while (a < sortedTokens.length || b < added.length) {
+            String token;
+            if (b == added.length || (a < sortedTokens.length && sortedTokens[a].compareTo(added[b]) <= 0)) {
+                token = sortedTokens[a++];
+            } else {
+                token = added[b++];
+            }
+            if (postings.containsKey(token) && (count == 0 || !merged[count - 1].equals(token))) {
+                merged[count++] = token;
+            }
+        }
+        sortedTokens = merged;
+        newTokens.clear();
+        tokensRemoved = false;
+    }
+
+    private boolean ranksBefore(int slot, int other) {
+        if (scores[slot] != scores[other]) {
+            return scores[slot] > scores[other];
+        }
+        return TransactionPager.NEWEST_FIRST.compare(models[slot], models[other]) < 0;
+    }
+
+    private void add(TransactionModel model) {
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot();
+        Set<String> tokens = new LinkedHashSet<>(tokenize(model.getNote()));
+        tokens.addAll(tokenize(model.getCategory()));
+        tokens.addAll(tokenize(Money.format(model.getAmount())));
+        if (model.getTimestamp() > 0) {
+            // The date as the list shows it, so typing what is on screen finds the row
+            tokens.addAll(tokenize(TransactionDates.format(model.getTimestamp())));
+        }
+        String[] tokenArray = tokens.toArray(new String[0]);
+        for (String token : tokenArray) {
+            Postings list = postings.get(token);
+            if (list == null) {
+                list = new Postings();
+                postings.put(token, list);
+                newTokens.add(token);
+            }
+            list.add(slot);
+        }
+        models[slot] = model;
+        modelTokens[slot] = tokenArray;
+        slots.put(model.getId(), slot);
+    }
+
+    private void remove(String id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String token : modelTokens[slot]) {
+            Postings list = postings.get(token);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(token);
+                tokensRemoved = true;
+            }
+        }
+        models[slot] = null;
+        modelTokens[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int nextSlot() {
+        if (slotCount == models.length) {
+            int capacity = slotCount * 2;
+            models = Arrays.copyOf(models, capacity);
+            modelTokens = Arrays.copyOf(modelTokens, capacity);
+            matchedTerms = Arrays.copyOf(matchedTerms, capacity);
+            termScores = Arrays.copyOf(termScores, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+        }
+        return slotCount++;
+    }
+
+    // Words and numbers; '.', ',', '/', '-' and ':' between two digits stay inside the token so
+    // amounts ("12.50") and dates ("05/01/2024") are searchable as typed
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean inToken = i < folded.length()
+                    && (Character.isLetterOrDigit(folded.charAt(i)) || (start >= 0 && isNumberSeparator(folded, i)));
+            if (inToken && start < 0) {
+                start = i;
+            } else if (!inToken && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isNumberSeparator(String text, int i) {
+        char c = text.charAt(i);
+        return (c == '.' || c == ',' || c == '/' || c == '-' || c == ':')
+                && i > 0 && i + 1 < text.length()
+                && Character.isDigit(text.charAt(i - 1)) && Character.isDigit(text.charAt(i + 1));
+    }
+
+    private static String fold(String text) {
+        StringBuilder folded = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char f = c < FOLD_LIMIT ? FOLD_TABLE[c] : Character.toLowerCase(c);
+            if (f != c && folded == null) {
+                folded = new StringBuilder(text.length()).append(text, 0, i);
+            }
+            // 0: a combining mark from text that was already decomposed
+            if (folded != null && f != 0) {
+                folded.append(f);
+            }
+        }
+        return folded != null ? folded.toString() : text;
+    }
+
+    // Lower case without diacritics; đ is a separate letter, not d plus a mark
+    private static char[] buildFoldTable() {
+        char[] table = new char[FOLD_LIMIT];
+        for (char c = 0; c < FOLD_LIMIT; c++) {
+            char lower = Character.toLowerCase(c);
+            String decomposed = Normalizer.normalize(String.valueOf(lower), Normalizer.Form.NFD);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                table[c] = 0;
+            } else if (lower == 'đ') {
+                table[c] = 'd';
+            } else if (isMarks(decomposed, 1)) {
+                table[c] = decomposed.charAt(0);
+            } else {
+                table[c] = lower;
+            }
+        }
+        return table;
+    }
+
+    private static boolean isMarks(String text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (Character.getType(text.charAt(i)) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Growable int list of slots; order does not matter, so removal swaps in the last element
+    private static class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.mygamedemo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+// On-device storage for the current user's transactions (source of truth for the UI)
+public interface TransactionStore {
+
+    // Newest first
+    List<TransactionModel> getAll();
+
+    // Up to limit rows that sort after the given row (newest first), or the first page when after is null
+    List<TransactionModel> getPage(TransactionModel after, int limit);
+
+    // Same, only rows of the given type
+    List<TransactionModel> getPage(TransactionType type, TransactionModel after, int limit);
+
+    // Same, only rows of one type and category; a null category pages the uncategorized rows
+    List<TransactionModel> getCategoryPage(TransactionType type, String category, TransactionModel after, int limit);
+
+    // Every category name in the dictionary, by name
+    List<String> getCategories();
+
+    // All-time totals, maintained on every write so reading them is O(1)
+    TransactionTotals getTotals();
+
+    // Totals for one month, see TransactionPeriods.monthKey
+    TransactionTotals getMonthTotals(int monthKey);
+
+    // Streams timestamp, type, amount and category of every row, oldest first, without building models
+    void scanAmounts(AmountVisitor visitor);
+
+    TransactionModel get(String id);
+
+    // Plain writes, not uploaded
+    void put(TransactionModel model);
+
+    void remove(String id);
+
+    // Local edits: applied right away and queued in the outbox for upload, in one transaction
+    void queuePut(TransactionModel model);
+
+    void queueDelete(String id);
+
+    // Same as queuePut for every model, in a single transaction
+    void queuePutAll(List<TransactionModel> models);
+
+    // Recurring rules, local to this device
+    List<RecurringRule> getRecurringRules();
+
+    // Insert or replace
+    void putRecurringRule(RecurringRule rule);
+
+    // Transactions it already produced stay
+    void removeRecurringRule(String id);
+
+    // Same as queuePutAll for the occurrences, and saves where each rule got to, in one
+    // transaction: a period is never materialized again, even after the user deleted it
+    void queueOccurrences(List<TransactionModel> occurrences, List<RecurringRule> rules);
+
+    // The subset of ids that already have a local row
+    Set<String> findExisting(Collection<String> ids);
+
+    // Oldest first
+    List<OutboxEntry> getOutbox(int limit);
+
+    // Drop uploaded entries, unless the row was edited again in the meantime
+    void markSynced(List<OutboxEntry> entries);
+
+    // Highest remote updatedAt already applied locally, 0 before the first sync
+    long getSyncWatermark();
+
+    // Apply remote changes (deleted models are removed) and move the watermark, in one transaction.
+    // Rows with a queued local edit are left alone: the local edit wins.
+    void applyChanges(List<TransactionModel> changes, long syncWatermark);
+
+    // Told about every row written by put, remove, the queue methods and applyChanges, once committed
+    void setRowObserver(RowObserver observer);
+
+    // Releases the underlying database; queued writes stay for the next session
+    void close();
+
+    interface AmountVisitor {
+        void visit(long timestamp, TransactionType type, long amount, String category);
+    }
+
+    interface RowObserver {
+        // before is null for a new row, after is null for a removed one
+        void onRowChanged(TransactionModel before, TransactionModel after);
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.mygamedemo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Every stored transaction as parallel primitive columns, oldest first: 21 bytes a row instead
+// of a TransactionModel with its strings. Category names are interned to int ids. Filters and
+// group-bys are plain loops over the arrays, a time range is two binary searches. The one full
+// scan of the store: TransactionAggregates and TrendAggregator are fed from scan. Built once,
+// then kept current through TransactionStore.RowObserver.
+// Not thread safe: the repository only touches it from its io executor.
+public class TransactionTable implements TransactionStore.AmountVisitor, TransactionStore.RowObserver {
+    // Category id of transactions without one
+    static final int UNCATEGORIZED = 0;
+    private static final int MIN_CAPACITY = 256;
+    // Type code of a removed row until the next sort drops it
+    private static final byte REMOVED = -1;
+
+    private long[] timestamps = new long[MIN_CAPACITY];
+    private long[] amounts = new long[MIN_CAPACITY];
+    private byte[] types = new byte[MIN_CAPACITY];
+    private int[] categoryIds = new int[MIN_CAPACITY];
+    // Rows [0, sortedSize) are in timestamp order, the rest were appended since the last sort
+    private int size;
+    private int sortedSize;
+    private int removedRows;
+    // Category names by id; index 0 is null (uncategorized)
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> categoryIndex = new HashMap<>();
+
+    public TransactionTable() {
+        categories.add(null);
+    }
+
+    public static TransactionTable build(TransactionStore store) {
+        TransactionTable table = new TransactionTable();
+        store.scanAmounts(table);
+        return table;
+    }
+
+    public int size() {
+        return size - removedRows;
+    }
+
+    // Build-time feed from TransactionStore.scanAmounts, oldest first
+    @Override
+    public void visit(long timestamp, TransactionType type, long amount, String category) {
+        insert(timestamp, type, amount, intern(category));
+    }
+
+    @Override
+    public void onRowChanged(TransactionModel before, TransactionModel after) {
+        if (before != null) {
+            remove(before);
+        }
+        if (after != null) {
+            insert(after.getTimestamp(), after.getType(), after.getAmount(), intern(after.getCategory()));
+        }
+    }
+
+    // Replays the rows oldest first, the same order as TransactionStore.scanAmounts
+    public void scan(TransactionStore.AmountVisitor visitor) {
+        sort();
+        for (int i = 0; i < size; i++) {
+            visitor.visit(timestamps[i], TransactionType.fromCode(types[i]), amounts[i], categories.get(categoryIds[i]));
+        }
+    }
+
+    // Transactions with fromMillis <= timestamp <= toMillis
+    public TransactionTotals getTotals(long fromMillis, long toMillis) {
+        sort();
+        int end = upperBound(toMillis);
+        long income = 0;
+        long expense = 0;
+        byte incomeCode = (byte) TransactionType.INCOME.getCode();
+        for (int i = lowerBound(fromMillis); i < end; i++) {
+            if (types[i] == incomeCode) {
+                income += amounts[i];
+            } else {
+                expense += amounts[i];
+            }
+        }
+        return new TransactionTotals(income, expense);
+    }
+
+    // Sums per category id over one type and time range; index with getCategory(id)
+    public long[] sumByCategory(TransactionType type, long fromMillis, long toMillis) {
+        sort();
+        long[] sums = new long[categories.size()];
+        int end = upperBound(toMillis);
+        byte code = (byte) type.getCode();
+        for (int i = lowerBound(fromMillis); i < end; i++) {
+            if (types[i] == code) {
+                sums[categoryIds[i]] += amounts[i];
+            }
+        }
+        return sums;
+    }
+
+    // Largest first, empty categories left out
+    public List<CategoryTotal> getCategoryTotals(TransactionType type, long fromMillis, long toMillis) {
+        long[] sums = sumByCategory(type, fromMillis, toMillis);
+        List<CategoryTotal> totals = new ArrayList<>();
+        for (int id = 0; id < sums.length; id++) {
+            if (sums[id] != 0) {
+                totals.add(new CategoryTotal(categories.get(id), sums[id]));
+            }
+        }
+        totals.sort((a, b) -> Long.compare(b.getAmount(), a.getAmount()));
+        return totals;
+    }
+
+    public int getCategoryCount() {
+        return categories.size();
+    }
+
+    // null for UNCATEGORIZED
+    public String getCategory(int id) {
+        return categories.get(id);
+    }
+
+    private int intern(String category) {
+        String name = TransactionCategories.normalize(category);
+        if (name == null) {
+            return UNCATEGORIZED;
+        }
+        Integer id = categoryIndex.get(name);
+        if (id == null) {
+            id = categories.size();
+            categories.add(name);
+            categoryIndex.put(name, id);
+        }
+        return id;
+    }
+
+    // A row at or after the newest one extends the sorted prefix; older rows (a sync or import of
+    // past history) are appended unsorted and sorted into place once, on the next scan
+    private void insert(long timestamp, TransactionType type, long amount, int categoryId) {
+        if (size == timestamps.length) {
+            int capacity = size * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            types = Arrays.copyOf(types, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+        }
+        boolean inOrder = sortedSize == size && (size == 0 || timestamps[size - 1] <= timestamp);
+        timestamps[size] = timestamp;
+        amounts[size] = amount;
+        types[size] = (byte) type.getCode();
+        categoryIds[size] = categoryId;
+        size++;
+        if (inOrder) {
+            sortedSize = size;
+        }
+    }
+
+    // Rows carry no id: any row with the same values is an equal stand-in for this one.
+    // The row is only marked; sort drops it.
+    private void remove(TransactionModel model) {
+        String category = TransactionCategories.normalize(model.getCategory());
+        Integer categoryId = category == null ? Integer.valueOf(UNCATEGORIZED) : categoryIndex.get(category);
+        if (categoryId == null) {
+            return;
+        }
+        long timestamp = model.getTimestamp();
+        byte code = (byte) model.getType().getCode();
+        int found = -1;
+        for (int i = lowerBound(timestamp); i < sortedSize && timestamps[i] == timestamp && found < 0; i++) {
+            if (types[i] == code && amounts[i] == model.getAmount() && categoryIds[i] == categoryId) {
+                found = i;
+            }
+        }
+        for (int i = size - 1; i >= sortedSize && found < 0; i--) {
+            if (timestamps[i] == timestamp && types[i] == code && amounts[i] == model.getAmount()
+                    && categoryIds[i] == categoryId) {
+                found = i;
+            }
+        }
+        if (found < 0) {
+            return;
+        }
+        types[found] = REMOVED;
+        removedRows++;
+        if (removedRows > MIN_CAPACITY && removedRows > size / 2) {
+            sort();
+        }
+    }
+
+    // Merges the appended rows into the sorted prefix and drops removed ones: O(n + k log k) for
+    // k appended rows, however many writes came in since the last scan
+    private void sort() {
+        if (sortedSize == size && removedRows == 0) {
+            return;
+        }
+        Integer[] appended = new Integer[size - sortedSize];
+        for (int i = 0; i < appended.length; i++) {
+            appended[i] = sortedSize + i;
+        }
+        // Stable, so rows with the same timestamp keep their arrival order
+        Arrays.sort(appended, (a, b) -> Long.compare(timestamps[a], timestamps[b]));
+        int capacity = Math.max(MIN_CAPACITY, timestamps.length);
+        long[] newTimestamps = new long[capacity];
+        long[] newAmounts = new long[capacity];
+        byte[] newTypes = new byte[capacity];
+        int[] newCategoryIds = new int[capacity];
+        int n = 0;
+        int head = 0;
+        int tail = 0;
+        while (head < sortedSize || tail < appended.length) {
+            int from;
+            if (tail == appended.length
+                    || (head < sortedSize && timestamps[head] <= timestamps[appended[tail]])) {
+                from = head++;
+            } else {
+                from = appended[tail++];
+            }
+            if (types[from] != REMOVED) {
+                newTimestamps[n] = timestamps[from];
+                newAmounts[n] = amounts[from];
+                newTypes[n] = types[from];
+                newCategoryIds[n] = categoryIds[from];
+                n++;
+            }
+        }
+        timestamps = newTimestamps;
+        amounts = newAmounts;
+        types = newTypes;
+        categoryIds = newCategoryIds;
+        size = n;
+        sortedSize = n;
+        removedRows = 0;
+    }
+
+    // First row of the sorted prefix with timestamp >= millis
+    private int lowerBound(long millis) {
+        int low = 0;
+        int high = sortedSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First row of the sorted prefix with timestamp > millis
+    private int upperBound(long millis) {
+        int low = 0;
+        int high = sortedSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.mygamedemo;
+
+// Income and expense sums in minor units
+public class TransactionTotals {
+    private final long income;
+    private final long expense;
+
+    public TransactionTotals(long income, long expense) {
+        this.income = income;
+        this.expense = expense;
+    }
+
+    public long getIncome() {
+        return income;
+    }
+
+    public long getExpense() {
+        return expense;
+    }
+
+    public long getBalance() {
+        return income - expense;
+    }
+}
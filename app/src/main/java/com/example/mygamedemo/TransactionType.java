@@ -0,0 +1,37 @@
+package com.example.mygamedemo;
+
+public enum TransactionType {
+    EXPENSE(0, "Expense"),
+    INCOME(1, "Income");
+
+    // code is what the local database stores, label is what Firestore documents store
+    private final int code;
+    private final String label;
+
+    TransactionType(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static TransactionType fromCode(int code) {
+        return code == INCOME.code ? INCOME : EXPENSE;
+    }
+
+    // null for unknown or missing labels
+    public static TransactionType fromLabel(String label) {
+        for (TransactionType type : values()) {
+            if (type.label.equals(label)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
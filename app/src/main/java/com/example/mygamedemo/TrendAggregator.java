@@ -0,0 +1,90 @@
+package com.example.mygamedemo;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+// Sums income and expense per day, week or month in one pass over the stored rows.
+// Buckets without transactions are kept as zeros so the x axis stays linear in time.
+public final class TrendAggregator {
+
+    public static class Trend {
+        private final TrendSeries income;
+        private final TrendSeries expense;
+
+        public Trend(TrendSeries income, TrendSeries expense) {
+            this.income = income;
+            this.expense = expense;
+        }
+
+        public TrendSeries getIncome() {
+            return income;
+        }
+
+        public TrendSeries getExpense() {
+            return expense;
+        }
+
+        public Trend downsample(int maxPoints) {
+            return new Trend(income.downsample(maxPoints), expense.downsample(maxPoints));
+        }
+    }
+
+    private TrendAggregator() {
+    }
+
+    public static Trend aggregate(TransactionTable table, TrendGranularity granularity) {
+        Buckets buckets = new Buckets(granularity);
+        table.scan(buckets);
+        return buckets.toTrend();
+    }
+
+    // Rows arrive oldest first
+    private static class Buckets implements TransactionStore.AmountVisitor {
+        private final TrendGranularity granularity;
+        private final Calendar calendar = Calendar.getInstance();
+        private long[] starts = new long[64];
+        private long[] income = new long[64];
+        private long[] expense = new long[64];
+        private int size;
+        private long nextStart;
+
+        Buckets(TrendGranularity granularity) {
+            this.granularity = granularity;
+        }
+
+        @Override
+        public void visit(long timestamp, TransactionType type, long amount, String category) {
+            if (timestamp <= 0) {
+                // Unknown date, would stretch the axis back to 1970
+                return;
+            }
+            if (size == 0) {
+                append(granularity.bucketStart(calendar, timestamp));
+            }
+            while (timestamp >= nextStart) {
+                append(nextStart);
+            }
+            if (type == TransactionType.INCOME) {
+                income[size - 1] += amount;
+            } else {
+                expense[size - 1] += amount;
+            }
+        }
+
+        private void append(long start) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                income = Arrays.copyOf(income, size * 2);
+                expense = Arrays.copyOf(expense, size * 2);
+            }
+            starts[size++] = start;
+            nextStart = granularity.nextBucket(calendar, start);
+        }
+
+        Trend toTrend() {
+            long[] x = Arrays.copyOf(starts, size);
+            return new Trend(new TrendSeries(x, Arrays.copyOf(income, size)),
+                    new TrendSeries(x, Arrays.copyOf(expense, size)));
+        }
+    }
+}
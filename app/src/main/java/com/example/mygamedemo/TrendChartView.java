@@ -0,0 +1,171 @@
+package com.example.mygamedemo;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.view.View;
+
+import androidx.core.content.ContextCompat;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+// Income and expense over time as two lines. The data is expected to be downsampled to
+// getMaxPoints() already; the view only scales the points into pixels.
+public class TrendChartView extends View {
+    private static final float TEXT_SIZE_DP = 12;
+    private static final float LINE_WIDTH_DP = 2;
+    private static final float INSET_DP = 8;
+
+    private final Paint incomePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint expensePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint axisPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint labelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private float inset;
+
+    private TrendAggregator.Trend trend;
+    // Line segments in pixels (x0, y0, x1, y1 per segment), rebuilt with the data or the size
+    private float[] incomeLines = new float[0];
+    private float[] expenseLines = new float[0];
+    private int incomeLineCount;
+    private int expenseLineCount;
+    private float left, top, right, bottom;
+    private String maxLabel = "";
+    private String startLabel = "";
+    private String endLabel = "";
+
+    public TrendChartView(Context context) {
+        super(context);
+        init();
+    }
+
+    public TrendChartView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init();
+    }
+
+    public TrendChartView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init();
+    }
+
+    private void init() {
+        float density = getResources().getDisplayMetrics().density;
+        inset = INSET_DP * density;
+        for (Paint paint : new Paint[]{incomePaint, expensePaint, axisPaint}) {
+            paint.setStyle(Paint.Style.STROKE);
+            paint.setStrokeWidth(LINE_WIDTH_DP * density);
+            paint.setStrokeCap(Paint.Cap.ROUND);
+        }
+        incomePaint.setColor(ContextCompat.getColor(getContext(), R.color.green));
+        expensePaint.setColor(ContextCompat.getColor(getContext(), R.color.red));
+        axisPaint.setColor(ContextCompat.getColor(getContext(), R.color.light_gray));
+        axisPaint.setStrokeWidth(density);
+        labelPaint.setColor(Color.WHITE);
+        labelPaint.setTextSize(TEXT_SIZE_DP * density);
+    }
+
+    // One point per horizontal pixel is all the chart can show
+    public int getMaxPoints() {
+        return Math.max(0, getWidth() - getPaddingLeft() - getPaddingRight() - Math.round(2 * inset));
+    }
+
+    public void setTrend(TrendAggregator.Trend trend) {
+        this.trend = trend;
+        rebuild();
+        invalidate();
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        rebuild();
+    }
+
+    private void rebuild() {
+        float textHeight = labelPaint.getTextSize();
+        left = getPaddingLeft() + inset;
+        right = getWidth() - getPaddingRight() - inset;
+        top = getPaddingTop() + inset + textHeight;
+        bottom = getHeight() - getPaddingBottom() - inset - textHeight;
+        incomeLineCount = 0;
+        expenseLineCount = 0;
+        if (trend == null || trend.getIncome().size() == 0 || right <= left || bottom <= top) {
+            maxLabel = "";
+            startLabel = "";
+            endLabel = "";
+            return;
+        }
+        long[] x = trend.getIncome().getX();
+        long minX = Math.min(x[0], trend.getExpense().getX()[0]);
+        long maxX = Math.max(x[x.length - 1], trend.getExpense().getX()[trend.getExpense().size() - 1]);
+        long maxY = Math.max(1, Math.max(max(trend.getIncome().getY()), max(trend.getExpense().getY())));
+
+        incomeLines = ensureCapacity(incomeLines, trend.getIncome().size());
+        expenseLines = ensureCapacity(expenseLines, trend.getExpense().size());
+        incomeLineCount = toLines(trend.getIncome(), incomeLines, minX, maxX, maxY);
+        expenseLineCount = toLines(trend.getExpense(), expenseLines, minX, maxX, maxY);
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
+        maxLabel = Money.format(maxY);
+        startLabel = dateFormat.format(new Date(minX));
+        endLabel = dateFormat.format(new Date(maxX));
+    }
+
+    private static long max(long[] values) {
+        long max = 0;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    private static float[] ensureCapacity(float[] lines, int points) {
+        int needed = Math.max(1, points - 1) * 4;
+        return lines.length >= needed ? lines : new float[needed];
+    }
+
+    // Returns the number of floats written; a single point becomes a zero-length segment
+    private int toLines(TrendSeries series, float[] lines, long minX, long maxX, long maxY) {
+        long[] x = series.getX();
+        long[] y = series.getY();
+        float spanX = Math.max(1, maxX - minX);
+        int count = 0;
+        float prevX = 0;
+        float prevY = 0;
+        for (int i = 0; i < x.length; i++) {
+            float px = left + (x[i] - minX) / spanX * (right - left);
+            float py = bottom - (float) y[i] / maxY * (bottom - top);
+            if (i > 0 || x.length == 1) {
+                lines[count++] = i > 0 ? prevX : px;
+                lines[count++] = i > 0 ? prevY : py;
+                lines[count++] = px;
+                lines[count++] = py;
+            }
+            prevX = px;
+            prevY = py;
+        }
+        return count;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (bottom <= top) {
+            return;
+        }
+        canvas.drawLine(left, bottom, right, bottom, axisPaint);
+        canvas.drawLine(left, top, right, top, axisPaint);
+        canvas.drawLines(expenseLines, 0, expenseLineCount, expensePaint);
+        canvas.drawLines(incomeLines, 0, incomeLineCount, incomePaint);
+
+        labelPaint.setTextAlign(Paint.Align.LEFT);
+        canvas.drawText(maxLabel, left, top - inset / 2, labelPaint);
+        canvas.drawText(startLabel, left, bottom + labelPaint.getTextSize() + inset / 2, labelPaint);
+        labelPaint.setTextAlign(Paint.Align.RIGHT);
+        canvas.drawText(endLabel, right, bottom + labelPaint.getTextSize() + inset / 2, labelPaint);
+    }
+}
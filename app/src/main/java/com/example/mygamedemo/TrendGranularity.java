@@ -0,0 +1,39 @@
+package com.example.mygamedemo;
+
+import java.util.Calendar;
+
+// Bucket size of the trend chart, in local time
+public enum TrendGranularity {
+    DAY(Calendar.DAY_OF_MONTH),
+    WEEK(Calendar.WEEK_OF_YEAR),
+    MONTH(Calendar.MONTH);
+
+    private final int calendarField;
+
+    TrendGranularity(int calendarField) {
+        this.calendarField = calendarField;
+    }
+
+    // Start of the bucket holding the timestamp
+    public long bucketStart(Calendar calendar, long timestamp) {
+        calendar.setTimeInMillis(timestamp);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        if (this == WEEK) {
+            int daysIntoWeek = (calendar.get(Calendar.DAY_OF_WEEK) - calendar.getFirstDayOfWeek() + 7) % 7;
+            calendar.add(Calendar.DAY_OF_MONTH, -daysIntoWeek);
+        } else if (this == MONTH) {
+            calendar.set(Calendar.DAY_OF_MONTH, 1);
+        }
+        return calendar.getTimeInMillis();
+    }
+
+    // Start of the bucket after the one starting at start; Calendar handles DST and month lengths
+    public long nextBucket(Calendar calendar, long start) {
+        calendar.setTimeInMillis(start);
+        calendar.add(calendarField, 1);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.mygamedemo;
+
+// One line of the trend chart: bucket start times (epoch millis) and the amount in each bucket
+public class TrendSeries {
+    private final long[] x;
+    private final long[] y;
+
+    public TrendSeries(long[] x, long[] y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public long[] getX() {
+        return x;
+    }
+
+    public long[] getY() {
+        return y;
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    // Largest-Triangle-Three-Buckets: keeps the first and last point and, from every bucket in
+    // between, the point forming the largest triangle with its neighbours. Peaks survive, unlike
+    // with plain averaging. Returns this series when it is already small enough.
+    public TrendSeries downsample(int maxPoints) {
+        int n = x.length;
+        if (maxPoints >= n || maxPoints < 3) {
+            return this;
+        }
+        long[] sampledX = new long[maxPoints];
+        long[] sampledY = new long[maxPoints];
+        sampledX[0] = x[0];
+        sampledY[0] = y[0];
+        double every = (double) (n - 2) / (maxPoints - 2);
+        int a = 0;
+        for (int i = 0; i < maxPoints - 2; i++) {
+            // Average of the next bucket is the third corner of the triangle
+            int avgStart = (int) ((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) ((i + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            avgX /= avgEnd - avgStart;
+            avgY /= avgEnd - avgStart;
+
+            int rangeStart = (int) (i * every) + 1;
+            int rangeEnd = (int) ((i + 1) * every) + 1;
+            double maxArea = -1;
+            int chosen = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+            }
+            sampledX[i + 1] = x[chosen];
+            sampledY[i + 1] = y[chosen];
+            a = chosen;
+        }
+        sampledX[maxPoints - 1] = x[n - 1];
+        sampledY[maxPoints - 1] = y[n - 1];
+        return new TrendSeries(sampledX, sampledY);
+    }
+}
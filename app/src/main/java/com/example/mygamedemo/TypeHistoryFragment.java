@@ -0,0 +1,77 @@
+package com.example.mygamedemo;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+// History of one transaction type, newest first. Pages come from the local store through the
+// (type, timestamp) index, so nothing is downloaded or filtered on the client. The pages and
+// totals live in the shared TransactionCache, so coming back to the tab shows them at once.
+abstract class TypeHistoryFragment extends Fragment {
+    // Start loading the next page this many rows before the end of the list
+    private static final int PREFETCH_DISTANCE = 10;
+
+    TransactionCache transactionCache;
+    TransactionAdapter transactionAdapter;
+
+    private TextView typeTotal, typeMonthTotal;
+
+    abstract TransactionType getType();
+
+    abstract String getScreenTitle();
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_type_history, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        transactionCache = RepositoryProvider.cache(requireContext());
+
+        TextView title = view.findViewById(R.id.type_title);
+        title.setText(getScreenTitle());
+        typeTotal = view.findViewById(R.id.type_total);
+        typeMonthTotal = view.findViewById(R.id.type_month_total);
+        int color = ContextCompat.getColor(requireContext(), getType() == TransactionType.INCOME ? R.color.green : R.color.red);
+        typeTotal.setTextColor(color);
+        typeMonthTotal.setTextColor(color);
+
+        RecyclerView recyclerView = view.findViewById(R.id.type_recycler_view);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        recyclerView.setLayoutManager(layoutManager);
+        recyclerView.setHasFixedSize(true);
+        transactionAdapter = new TransactionAdapter(requireContext());
+        recyclerView.setAdapter(transactionAdapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= transactionAdapter.getItemCount() - PREFETCH_DISTANCE) {
+                    transactionCache.loadMore(getType());
+                }
+            }
+        });
+        // The view, not the fragment, owns the observers: it is destroyed while another tab shows
+        transactionCache.getHistory(getType()).observe(getViewLifecycleOwner(), items -> transactionAdapter.submitList(items));
+        transactionCache.getTotals().observe(getViewLifecycleOwner(),
+                totals -> typeTotal.setText(Money.format(amountOf(totals))));
+        transactionCache.getMonthTotals().observe(getViewLifecycleOwner(),
+                totals -> typeMonthTotal.setText(Money.format(amountOf(totals))));
+    }
+
+    private long amountOf(TransactionTotals totals) {
+        return getType() == TransactionType.INCOME ? totals.getIncome() : totals.getExpense();
+    }
+}
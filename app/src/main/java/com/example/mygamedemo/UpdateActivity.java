@@ -6,40 +6,43 @@ import android.view.View;
 import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
-import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.mygamedemo.databinding.ActivityUpdateBinding;
-import com.google.android.gms.tasks.OnFailureListener;
-import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 public class UpdateActivity extends AppCompatActivity {
     ActivityUpdateBinding binding;
     String newType;
 
-    FirebaseFirestore firebaseFirestore;
-    FirebaseAuth firebaseAuth;
+    TransactionRepository transactionRepository;
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         binding=ActivityUpdateBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        firebaseFirestore=FirebaseFirestore.getInstance();
-        firebaseAuth=FirebaseAuth.getInstance();
+        transactionRepository=RepositoryProvider.transactions(this);
 
         String id=getIntent().getStringExtra("id");
-        String amount=getIntent().getStringExtra("amount");
+        long amount=getIntent().getLongExtra("amount",0);
         String note=getIntent().getStringExtra("note");
         String type=getIntent().getStringExtra("type");
+        long timestamp=getIntent().getLongExtra("timestamp",0);
+        String category=getIntent().getStringExtra("category");
 
-        binding.userAmountAdd.setText(amount);
+        binding.userAmountAdd.setText(Money.format(amount));
         binding.userNodeAdd.setText(note);
+        binding.userCategoryAdd.setText(category);
+        // Giao dịch định kỳ: bỏ chọn để dừng lặp lại, các lần đã tạo vẫn giữ nguyên
+        String ruleId = RecurringRule.ruleIdOf(id);
+        if (ruleId != null) {
+            binding.repeatCheckBox.setVisibility(View.VISIBLE);
+            binding.repeatCheckBox.setChecked(true);
+        }
+        CategoryPicker.bind(binding.userCategoryAdd, transactionRepository);
 
         switch (type){
             case "Income":
@@ -72,11 +75,8 @@ public class UpdateActivity extends AppCompatActivity {
         binding.refreshBtn.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View view) {
-                try {
-                    startActivity(new Intent(UpdateActivity.this,DashboardActivity.class));
-                }catch (Exception e){
-
-                }
+                // Màn hình chính vẫn nằm bên dưới, chỉ cần đóng màn hình này
+                finish();
             }
         });
 
@@ -84,49 +84,61 @@ public class UpdateActivity extends AppCompatActivity {
         binding.btnUpdateTransaction.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View view) {
-                String amount = binding.userAmountAdd.getText().toString();
                 String note = binding.userNodeAdd.getText().toString();
+                String newCategory = TransactionCategories.normalize(binding.userCategoryAdd.getText().toString());
+                long amount;
+                try {
+                    amount = Money.parse(binding.userAmountAdd.getText().toString());
+                } catch (NumberFormatException e) {
+                    Toast.makeText(UpdateActivity.this, "Invalid amount", Toast.LENGTH_SHORT).show();
+                    return;
+                }
 
                 // Sử dụng newType thay vì type
-                firebaseFirestore.collection("Expenses")
-                        .document(firebaseAuth.getUid())
-                        .collection("Note")
-                        .document(id)
-                        .update("amount", amount, "note", note, "type", newType) // Thay đổi "type" thành "newType"
-                        .addOnSuccessListener(new OnSuccessListener<Void>() {
-                            @Override
-                            public void onSuccess(Void unused) {
-                                onBackPressed();
-                                Toast.makeText(UpdateActivity.this, "Updated", Toast.LENGTH_SHORT).show();
-                            }
-                        })
-                        .addOnFailureListener(new OnFailureListener() {
-                            @Override
-                            public void onFailure(@NonNull Exception e) {
-                                Toast.makeText(UpdateActivity.this, e.getMessage(), Toast.LENGTH_SHORT).show();
-                            }
-                        });
+                TransactionModel transaction = new TransactionModel(id, note, amount,
+                        TransactionType.fromLabel(newType), timestamp, newCategory);
+                if (ruleId != null && !binding.repeatCheckBox.isChecked()) {
+                    transactionRepository.deleteRecurringRule(ruleId, new TransactionRepository.Callback<Void>() {
+                        @Override
+                        public void onSuccess(Void unused) {
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            Toast.makeText(UpdateActivity.this, e.getMessage(), Toast.LENGTH_SHORT).show();
+                        }
+                    });
+                }
+                transactionRepository.update(transaction, new TransactionRepository.Callback<Void>() {
+                    @Override
+                    public void onSuccess(Void unused) {
+                        onBackPressed();
+                        Toast.makeText(UpdateActivity.this, "Updated", Toast.LENGTH_SHORT).show();
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        Toast.makeText(UpdateActivity.this, e.getMessage(), Toast.LENGTH_SHORT).show();
+                    }
+                });
             }
         });
 
         binding.btnDeleteTransaction.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View view) {
-                firebaseFirestore.collection("Expenses").document(firebaseAuth.getUid()).collection("Note")
-                        .document(id).delete()
-                        .addOnSuccessListener(new OnSuccessListener<Void>() {
-                            @Override
-                            public void onSuccess(Void unused) {
-                                onBackPressed();
-                                Toast.makeText(UpdateActivity.this, "Deleted", Toast.LENGTH_SHORT).show();
-                            }
-                        })
-                        .addOnFailureListener(new OnFailureListener() {
-                            @Override
-                            public void onFailure(@NonNull Exception e) {
-                                Toast.makeText(UpdateActivity.this, e.getMessage(), Toast.LENGTH_SHORT).show();
-                            }
-                        });
+                transactionRepository.delete(id, new TransactionRepository.Callback<Void>() {
+                    @Override
+                    public void onSuccess(Void unused) {
+                        onBackPressed();
+                        Toast.makeText(UpdateActivity.this, "Deleted", Toast.LENGTH_SHORT).show();
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        Toast.makeText(UpdateActivity.this, e.getMessage(), Toast.LENGTH_SHORT).show();
+                    }
+                });
             }
         });
 
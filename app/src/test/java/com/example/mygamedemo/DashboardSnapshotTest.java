@@ -0,0 +1,152 @@
+package com.example.mygamedemo;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.Observer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DashboardSnapshotTest {
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private File dir;
+    private File file;
+    private DashboardSnapshotFile snapshots;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("snapshot").toFile();
+        file = new File(dir, "dashboard.snap");
+        snapshots = new DashboardSnapshotFile(file);
+    }
+
+    @After
+    public void tearDown() {
+        for (File child : dir.listFiles()) {
+            child.delete();
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void roundTrip_keepsEveryColumn() throws IOException {
+        TransactionModel salary = new TransactionModel("a", "Lương tháng 5", 5000, TransactionType.INCOME, 20, "Salary");
+        TransactionModel lunch = new TransactionModel("b", null, 120, TransactionType.EXPENSE, 10, null);
+        lunch.setPending(true);
+
+        snapshots.write(new DashboardSnapshot(42, new TransactionTotals(5000, 120), Arrays.asList(salary, lunch)));
+        DashboardSnapshot read = snapshots.read();
+
+        assertEquals(42, read.getWatermark());
+        assertEquals(5000, read.getTotals().getIncome());
+        assertEquals(120, read.getTotals().getExpense());
+        assertEquals(2, read.getRows().size());
+        TransactionModel first = read.getRows().get(0);
+        assertEquals("a", first.getId());
+        assertEquals("Lương tháng 5", first.getNote());
+        assertEquals(TransactionType.INCOME, first.getType());
+        assertEquals(20, first.getTimestamp());
+        assertEquals("Salary", first.getCategory());
+        assertFalse(first.isPending());
+        TransactionModel second = read.getRows().get(1);
+        assertNull(second.getNote());
+        assertNull(second.getCategory());
+        assertEquals(120, second.getAmount());
+        assertTrue(second.isPending());
+    }
+
+    @Test
+    public void read_ignoresMissingAndDamagedFiles() throws IOException {
+        assertNull(snapshots.read());
+
+        snapshots.write(new DashboardSnapshot(1, new TransactionTotals(0, 0),
+                Arrays.asList(new TransactionModel("a", "note", 1, TransactionType.EXPENSE, 1))));
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(bytes, 0, bytes.length - 3);
+        }
+
+        assertNull(snapshots.read());
+    }
+
+    @Test
+    public void invalidateBefore_dropsOnlyOlderSnapshots() throws IOException {
+        snapshots.write(new DashboardSnapshot(10, new TransactionTotals(0, 0), new ArrayList<>()));
+
+        snapshots.invalidateBefore(10);
+        assertNotNull(snapshots.read());
+
+        // A new process only knows the file
+        new DashboardSnapshotFile(file).invalidateBefore(11);
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void coldStart_showsSnapshotUntilTheStoreAnswers() throws IOException {
+        InMemoryTransactionStore store = new InMemoryTransactionStore();
+        store.put(new TransactionModel("stored", "note", 300, TransactionType.EXPENSE, 5));
+        snapshots.write(new DashboardSnapshot(0, new TransactionTotals(0, 100),
+                Arrays.asList(new TransactionModel("snap", "note", 100, TransactionType.EXPENSE, 1))));
+        List<Runnable> io = new ArrayList<>();
+        TransactionRepository repository = new LocalFirstTransactionRepository(store,
+                new FakeRemoteTransactionSource(), io::add, Runnable::run, new ManualScheduler(), snapshots);
+        TransactionCache cache = new TransactionCache(repository, new ManualScheduler(), snapshots);
+        Observer<Object> ignore = value -> { };
+
+        cache.getTotals().observeForever(ignore);
+        cache.getHistory(null).observeForever(ignore);
+
+        // Nothing has run on the io thread yet
+        assertEquals(100, cache.getTotals().getValue().getExpense());
+        assertEquals("snap", cache.getHistory(null).getValue().get(0).getId());
+
+        runAll(io);
+
+        assertEquals(300, cache.getTotals().getValue().getExpense());
+        assertEquals("stored", cache.getHistory(null).getValue().get(0).getId());
+        assertEquals("stored", snapshots.read().getRows().get(0).getId());
+    }
+
+    @Test
+    public void remoteChanges_invalidateTheSnapshot() throws IOException {
+        InMemoryTransactionStore store = new InMemoryTransactionStore();
+        FakeRemoteTransactionSource remote = new FakeRemoteTransactionSource();
+        TransactionRepository repository = new LocalFirstTransactionRepository(store, remote,
+                Runnable::run, Runnable::run, new ManualScheduler(), snapshots);
+        repository.saveDashboardSnapshot(new TransactionTotals(0, 0), new ArrayList<>());
+        repository.listen(new TransactionRepository.ChangeListener() {
+            @Override
+            public void onChanges(List<TransactionModel> changes) {
+            }
+
+            @Override
+            public void onError(Exception e) {
+                fail(e.toString());
+            }
+        });
+        assertNotNull(snapshots.read());
+
+        remote.serverWrite(new TransactionModel("other", "note", 1, TransactionType.EXPENSE, 1));
+
+        assertNull(snapshots.read());
+    }
+
+    private static void runAll(List<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.mygamedemo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Stands in for Firestore in unit tests; answers synchronously
+class FakeRemoteTransactionSource implements RemoteTransactionSource {
+    final Map<String, TransactionModel> documents = new LinkedHashMap<>();
+    final List<TransactionRepository.ChangeListener> listeners = new ArrayList<>();
+    Exception failure;
+    int fetchCount;
+    int commitCount;
+    long lastWatermark = -1;
+    // Plays the role of the server clock for updatedAt
+    long clock = 1000;
+
+    @Override
+    public void fetchChangedSince(long watermark, RemoteChangePage previous, int limit,
+                                  TransactionRepository.Callback<RemoteChangePage> callback) {
+        fetchCount++;
+        lastWatermark = watermark;
+        if (failure != null) {
+            callback.onFailure(failure);
+            return;
+        }
+        List<TransactionModel> changed = new ArrayList<>();
+        for (TransactionModel model : documents.values()) {
+            if (watermark == 0 || model.getUpdatedAt() > watermark) {
+                changed.add(model);
+            }
+        }
+        // The cursor is simply the offset of the next page
+        int from = previous != null ? (Integer) previous.getCursor() : 0;
+        int to = Math.min(from + limit, changed.size());
+        callback.onSuccess(new RemoteChangePage(new ArrayList<>(changed.subList(from, to)), to, to - from < limit));
+    }
+
+    @Override
+    public TransactionRepository.Subscription listen(long watermark, TransactionRepository.ChangeListener listener) {
+        List<TransactionModel> backlog = new ArrayList<>();
+        for (TransactionModel model : documents.values()) {
+            if (watermark == 0 || model.getUpdatedAt() > watermark) {
+                backlog.add(model);
+            }
+        }
+        listeners.add(listener);
+        if (!backlog.isEmpty()) {
+            listener.onChanges(backlog);
+        }
+        return () -> listeners.remove(listener);
+    }
+
+    // Simulates a write made from another device
+    void serverWrite(TransactionModel model) {
+        model.setUpdatedAt(++clock);
+        documents.put(model.getId(), model);
+        for (TransactionRepository.ChangeListener listener : new ArrayList<>(listeners)) {
+            listener.onChanges(Collections.singletonList(model));
+        }
+    }
+
+    @Override
+    public void commit(List<OutboxEntry> entries, TransactionRepository.Callback<Void> callback) {
+        commitCount++;
+        if (failure != null) {
+            callback.onFailure(failure);
+            return;
+        }
+        for (OutboxEntry entry : entries) {
+            TransactionModel stored;
+            if (entry.isDelete()) {
+                stored = new TransactionModel(entry.getId(), null, 0, null, 0);
+                stored.setDeleted(true);
+            } else {
+                TransactionModel model = entry.getModel();
+                stored = new TransactionModel(model.getId(), model.getNote(), model.getAmount(),
+                        model.getType(), model.getTimestamp(), model.getCategory());
+            }
+            serverWrite(stored);
+        }
+        callback.onSuccess(null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.mygamedemo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FirestoreTransactionSourceTest {
+
+    @Test
+    public void legacyDocumentWithUnreadableDate_isNotMigrated() {
+        TransactionModel unreadable = new TransactionModel("1", "Lunch", 5000, TransactionType.EXPENSE,
+                TransactionDates.parseLegacy("hôm qua"));
+        TransactionModel readable = new TransactionModel("2", "Lunch", 5000, TransactionType.EXPENSE,
+                TransactionDates.parseLegacy("05 01 2024_12:30"));
+
+        assertEquals(0, unreadable.getTimestamp());
+        assertFalse(FirestoreTransactionSource.needsMigration(false, unreadable));
+        assertTrue(FirestoreTransactionSource.needsMigration(false, readable));
+    }
+
+    @Test
+    public void typedAndDeletedDocuments_areNotMigrated() {
+        TransactionModel model = new TransactionModel("1", "Lunch", 5000, TransactionType.EXPENSE,
+                TransactionDates.parseLegacy("05 01 2024_12:30"));
+
+        assertFalse(FirestoreTransactionSource.needsMigration(true, model));
+        model.setDeleted(true);
+        assertFalse(FirestoreTransactionSource.needsMigration(false, model));
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.mygamedemo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Local store fake for unit tests
+class InMemoryTransactionStore implements TransactionStore {
+    final Map<String, TransactionModel> rows = new LinkedHashMap<>();
+    // Latest sequence per queued id, in queue order
+    final Map<String, Long> outbox = new LinkedHashMap<>();
+    final Map<String, RecurringRule> recurringRules = new LinkedHashMap<>();
+    long syncWatermark;
+    boolean closed;
+    private long sequence;
+    private RowObserver rowObserver;
+
+    @Override
+    public List<TransactionModel> getAll() {
+        checkOpen();
+        List<TransactionModel> all = new ArrayList<>(rows.values());
+        all.sort(TransactionPager.NEWEST_FIRST);
+        return all;
+    }
+
+    @Override
+    public List<TransactionModel> getPage(TransactionModel after, int limit) {
+        return getPage(null, after, limit);
+    }
+
+    @Override
+    public List<TransactionModel> getPage(TransactionType type, TransactionModel after, int limit) {
+        List<TransactionModel> page = new ArrayList<>();
+        for (TransactionModel model : getAll()) {
+            if (page.size() == limit) {
+                break;
+            }
+            if ((type == null || model.getType() == type)
+                    && (after == null || TransactionPager.NEWEST_FIRST.compare(model, after) > 0)) {
+                page.add(model);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<TransactionModel> getCategoryPage(TransactionType type, String category, TransactionModel after, int limit) {
+        String name = TransactionCategories.normalize(category);
+        List<TransactionModel> page = new ArrayList<>();
+        for (TransactionModel model : getPage(type, after, Integer.MAX_VALUE)) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (Objects.equals(name, TransactionCategories.normalize(model.getCategory()))) {
+                page.add(model);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<String> getCategories() {
+        checkOpen();
+        Set<String> names = new HashSet<>();
+        for (TransactionModel model : rows.values()) {
+            String name = TransactionCategories.normalize(model.getCategory());
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort(String.CASE_INSENSITIVE_ORDER);
+        return sorted;
+    }
+
+    @Override
+    public TransactionTotals getTotals() {
+        return getMonthTotals(TransactionPeriods.ALL_TIME);
+    }
+
+    @Override
+    public TransactionTotals getMonthTotals(int monthKey) {
+        checkOpen();
+        long income = 0;
+        long expense = 0;
+        for (TransactionModel model : rows.values()) {
+            if (monthKey != TransactionPeriods.ALL_TIME && TransactionPeriods.monthKey(model.getTimestamp()) != monthKey) {
+                continue;
+            }
+            if (model.getType() == TransactionType.INCOME) {
+                income += model.getAmount();
+            } else {
+                expense += model.getAmount();
+            }
+        }
+        return new TransactionTotals(income, expense);
+    }
+
+    @Override
+    public void scanAmounts(AmountVisitor visitor) {
+        List<TransactionModel> oldestFirst = getAll();
+        for (int i = oldestFirst.size() - 1; i >= 0; i--) {
+            TransactionModel model = oldestFirst.get(i);
+            visitor.visit(model.getTimestamp(), model.getType(), model.getAmount(), model.getCategory());
+        }
+    }
+
+    @Override
+    public TransactionModel get(String id) {
+        return rows.get(id);
+    }
+
+    @Override
+    public void put(TransactionModel model) {
+        TransactionModel old = rows.put(model.getId(), model);
+        if (rowObserver != null) {
+            rowObserver.onRowChanged(old, model);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        TransactionModel old = rows.remove(id);
+        if (old != null && rowObserver != null) {
+            rowObserver.onRowChanged(old, null);
+        }
+    }
+
+    @Override
+    public void queuePut(TransactionModel model) {
+        put(model);
+        enqueue(model.getId());
+    }
+
+    @Override
+    public void queueDelete(String id) {
+        remove(id);
+        enqueue(id);
+    }
+
+    @Override
+    public void queuePutAll(List<TransactionModel> models) {
+        for (TransactionModel model : models) {
+            queuePut(model);
+        }
+    }
+
+    @Override
+    public List<RecurringRule> getRecurringRules() {
+        return new ArrayList<>(recurringRules.values());
+    }
+
+    @Override
+    public void putRecurringRule(RecurringRule rule) {
+        recurringRules.put(rule.getId(), rule);
+    }
+
+    @Override
+    public void removeRecurringRule(String id) {
+        recurringRules.remove(id);
+    }
+
+    @Override
+    public void queueOccurrences(List<TransactionModel> occurrences, List<RecurringRule> rules) {
+        queuePutAll(occurrences);
+        for (RecurringRule rule : rules) {
+            recurringRules.replace(rule.getId(), rule);
+        }
+    }
+
+    @Override
+    public Set<String> findExisting(Collection<String> ids) {
+        Set<String> existing = new HashSet<>();
+        for (String id : ids) {
+            if (rows.containsKey(id)) {
+                existing.add(id);
+            }
+        }
+        return existing;
+    }
+
+    private void enqueue(String id) {
+        outbox.remove(id);
+        outbox.put(id, ++sequence);
+    }
+
+    @Override
+    public List<OutboxEntry> getOutbox(int limit) {
+        List<OutboxEntry> entries = new ArrayList<>();
+        for (Map.Entry<String, Long> queued : outbox.entrySet()) {
+            if (entries.size() == limit) {
+                break;
+            }
+            entries.add(new OutboxEntry(queued.getKey(), queued.getValue(), rows.get(queued.getKey())));
+        }
+        return entries;
+    }
+
+    @Override
+    public void markSynced(List<OutboxEntry> entries) {
+        for (OutboxEntry entry : entries) {
+            outbox.remove(entry.getId(), entry.getSequence());
+        }
+    }
+
+    @Override
+    public long getSyncWatermark() {
+        return syncWatermark;
+    }
+
+    @Override
+    public void applyChanges(List<TransactionModel> changes, long syncWatermark) {
+        for (TransactionModel model : changes) {
+            if (outbox.containsKey(model.getId())) {
+                continue;
+            }
+            if (model.isDeleted()) {
+                remove(model.getId());
+            } else {
+                put(model);
+            }
+        }
+        this.syncWatermark = syncWatermark;
+    }
+
+    @Override
+    public void setRowObserver(RowObserver observer) {
+        rowObserver = observer;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    // Reads fail after close, as they do on a closed SQLiteDatabase
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("store is closed");
+        }
+    }
+}
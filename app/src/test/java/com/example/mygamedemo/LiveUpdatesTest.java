@@ -0,0 +1,107 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LiveUpdatesTest {
+    private InMemoryTransactionStore store;
+    private FakeRemoteTransactionSource remote;
+    private final ManualScheduler scheduler = new ManualScheduler();
+    private LocalFirstTransactionRepository repository;
+    private TransactionPager pager;
+    private final List<TransactionModel> received = new ArrayList<>();
+    private final TransactionRepository.ChangeListener listener = new TransactionRepository.ChangeListener() {
+        @Override
+        public void onChanges(List<TransactionModel> changes) {
+            received.addAll(changes);
+            pager.applyChanges(changes);
+        }
+
+        @Override
+        public void onError(Exception e) {
+            fail(e.toString());
+        }
+    };
+
+    @Before
+    public void setUp() {
+        store = new InMemoryTransactionStore();
+        remote = new FakeRemoteTransactionSource();
+        repository = new LocalFirstTransactionRepository(store, remote, Runnable::run, Runnable::run, scheduler);
+        pager = new TransactionPager(repository, 10, new TransactionPager.Listener() {
+            @Override
+            public void onPageLoaded(List<TransactionModel> items, int start, int count) {
+            }
+
+            @Override
+            public void onError(Exception e) {
+                fail(e.toString());
+            }
+        });
+    }
+
+    @Test
+    public void listen_appliesAddedModifiedAndRemovedDocuments() {
+        pager.refresh();
+        repository.listen(listener);
+
+        remote.serverWrite(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 10));
+        remote.serverWrite(new TransactionModel("1", "Lunch with team", 80, TransactionType.EXPENSE, 10));
+        remote.serverWrite(new TransactionModel("2", "Salary", 1000, TransactionType.INCOME, 20));
+
+        assertEquals(2, pager.getItems().size());
+        assertEquals("2", pager.getItems().get(0).getId());
+        assertEquals(80, store.get("1").getAmount());
+        assertEquals(1000, store.getTotals().getIncome());
+        assertEquals(80, store.getTotals().getExpense());
+
+        TransactionModel tombstone = new TransactionModel("1", null, 0, TransactionType.EXPENSE, 0);
+        tombstone.setDeleted(true);
+        remote.serverWrite(tombstone);
+
+        assertNull(store.get("1"));
+        assertEquals(1, pager.getItems().size());
+        assertEquals(remote.clock, store.getSyncWatermark());
+    }
+
+    @Test
+    public void listen_startsFromWatermark() {
+        remote.serverWrite(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 10));
+        repository.refresh(new LocalFirstTransactionRepositoryTest.Recorder<>());
+        remote.serverWrite(new TransactionModel("2", "Salary", 1000, TransactionType.INCOME, 20));
+
+        repository.listen(listener);
+
+        assertEquals(1, received.size());
+        assertEquals("2", received.get(0).getId());
+    }
+
+    @Test
+    public void remove_unregistersRemoteListener() {
+        TransactionRepository.Subscription subscription = repository.listen(listener);
+
+        subscription.remove();
+        remote.serverWrite(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 10));
+
+        assertTrue(remote.listeners.isEmpty());
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void applyChanges_skipsRowsBeyondLoadedPages() {
+        for (int i = 0; i < 15; i++) {
+            store.put(new TransactionModel("id" + i, "note", 1, TransactionType.EXPENSE, 100 + i));
+        }
+        pager.refresh();
+
+        pager.applyChanges(Collections.singletonList(new TransactionModel("old", "note", 1, TransactionType.EXPENSE, 1)));
+
+        assertEquals(10, pager.getItems().size());
+    }
+}
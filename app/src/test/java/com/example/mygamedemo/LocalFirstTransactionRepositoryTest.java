@@ -0,0 +1,318 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LocalFirstTransactionRepositoryTest {
+    private InMemoryTransactionStore store;
+    private FakeRemoteTransactionSource remote;
+    private final ManualScheduler scheduler = new ManualScheduler();
+    private LocalFirstTransactionRepository repository;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryTransactionStore();
+        remote = new FakeRemoteTransactionSource();
+        repository = new LocalFirstTransactionRepository(store, remote, Runnable::run, Runnable::run, scheduler);
+    }
+
+    @Test
+    public void add_writesLocallyAndPushesToRemote() {
+        repository.add(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 0), new Recorder<>());
+
+        assertNotNull(store.get("1"));
+        assertFalse(remote.documents.containsKey("1"));
+
+        scheduler.runPending();
+
+        assertTrue(remote.documents.containsKey("1"));
+        assertTrue(store.outbox.isEmpty());
+    }
+
+    @Test
+    public void add_keepsLocalCopyWhenRemoteFails() {
+        remote.failure = new Exception("offline");
+        Recorder<Void> result = new Recorder<>();
+
+        repository.add(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 0), result);
+        scheduler.runPending();
+
+        assertTrue(result.succeeded);
+        assertNotNull(store.get("1"));
+        assertTrue(store.outbox.containsKey("1"));
+    }
+
+    @Test
+    public void close_stopsUploadsAndLiveChanges() {
+        remote.failure = new Exception("offline");
+        repository.add(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 0), new Recorder<>());
+        repository.listen(new TransactionRepository.ChangeListener() {
+            @Override
+            public void onChanges(List<TransactionModel> changes) {
+                fail("closed repository delivered changes");
+            }
+
+            @Override
+            public void onError(Exception e) {
+            }
+        });
+        scheduler.runPending();
+        int failedCommits = remote.commitCount;
+
+        repository.close();
+        remote.failure = null;
+        scheduler.runPending();
+
+        assertTrue(store.closed);
+        assertEquals(failedCommits, remote.commitCount);
+        assertTrue(remote.listeners.isEmpty());
+        assertTrue(store.outbox.containsKey("1"));
+    }
+
+    @Test
+    public void readsQueuedBeforeClose_areDropped() {
+        List<Runnable> io = new ArrayList<>();
+        LocalFirstTransactionRepository queued = new LocalFirstTransactionRepository(store, remote, io::add,
+                Runnable::run, scheduler);
+        Recorder<List<TransactionModel>> all = new Recorder<>();
+        Recorder<TransactionTotals> range = new Recorder<>();
+        Recorder<List<TransactionModel>> found = new Recorder<>();
+
+        queued.close();
+        queued.getAll(all);
+        queued.getRangeTotals(Long.MIN_VALUE, Long.MAX_VALUE, range);
+        queued.search("lunch", null, 10, found);
+        for (int i = 0; i < io.size(); i++) {
+            io.get(i).run();
+        }
+
+        assertTrue(store.closed);
+        assertFalse(all.succeeded);
+        assertNull(all.error);
+        assertFalse(range.succeeded);
+        assertFalse(found.succeeded);
+    }
+
+    @Test
+    public void failedRead_isReportedToTheCallback() {
+        store.close();
+        Recorder<TransactionTotals> totals = new Recorder<>();
+        Recorder<List<String>> categories = new Recorder<>();
+
+        repository.getTotals(totals);
+        repository.getCategories(categories);
+
+        assertTrue(totals.error instanceof IllegalStateException);
+        assertTrue(categories.error instanceof IllegalStateException);
+    }
+
+    @Test
+    public void add_burstOfEditsUploadsInOneCommit() {
+        for (int i = 0; i < 20; i++) {
+            repository.add(new TransactionModel("id" + i, "note", 1, TransactionType.EXPENSE, i), new Recorder<>());
+        }
+        repository.update(new TransactionModel("id0", "edited", 2, TransactionType.EXPENSE, 0), new Recorder<>());
+
+        scheduler.runPending();
+
+        assertEquals(1, remote.commitCount);
+        assertEquals(20, remote.documents.size());
+        assertEquals("edited", remote.documents.get("id0").getNote());
+    }
+
+    @Test
+    public void refresh_doesNotOverwriteQueuedEdit() {
+        remote.serverWrite(new TransactionModel("1", "Salary", 1000, TransactionType.INCOME, 0));
+        repository.update(new TransactionModel("1", "Bonus", 1200, TransactionType.INCOME, 0), new Recorder<>());
+
+        repository.refresh(new Recorder<>());
+
+        assertEquals("Bonus", store.get("1").getNote());
+    }
+
+    @Test
+    public void getAll_readsLocalStoreWithoutTouchingRemote() {
+        store.put(new TransactionModel("1", "Salary", 1000, TransactionType.INCOME, 0));
+        Recorder<List<TransactionModel>> result = new Recorder<>();
+
+        repository.getAll(result);
+
+        assertEquals(1, result.value.size());
+        assertEquals(0, remote.fetchCount);
+    }
+
+    @Test
+    public void refresh_firstSyncPullsEverythingAndSetsWatermark() {
+        remote.serverWrite(new TransactionModel("1", "Salary", 1000, TransactionType.INCOME, 0));
+        remote.serverWrite(new TransactionModel("2", "Rent", 400, TransactionType.EXPENSE, 0));
+
+        repository.refresh(new Recorder<>());
+
+        assertEquals(0, remote.lastWatermark);
+        assertEquals(2, store.rows.size());
+        assertEquals(remote.clock, store.getSyncWatermark());
+    }
+
+    @Test
+    public void refresh_onlyAppliesChangesSinceWatermark() {
+        remote.serverWrite(new TransactionModel("1", "Salary", 1000, TransactionType.INCOME, 0));
+        repository.refresh(new Recorder<>());
+        long watermark = store.getSyncWatermark();
+        remote.serverWrite(new TransactionModel("2", "Rent", 400, TransactionType.EXPENSE, 0));
+
+        repository.refresh(new Recorder<>());
+
+        assertEquals(watermark, remote.lastWatermark);
+        assertEquals(2, store.rows.size());
+    }
+
+    @Test
+    public void refresh_pagesThroughLargeFullSync() {
+        for (int i = 0; i < DeltaSyncEngine.PAGE_SIZE * 2 + 5; i++) {
+            remote.serverWrite(new TransactionModel("id" + i, "note", 1, TransactionType.EXPENSE, i));
+        }
+
+        repository.refresh(new Recorder<>());
+
+        assertEquals(3, remote.fetchCount);
+        assertEquals(DeltaSyncEngine.PAGE_SIZE * 2 + 5, store.rows.size());
+        assertEquals(remote.clock, store.getSyncWatermark());
+    }
+
+    @Test
+    public void getTotals_sumsByType() {
+        store.put(new TransactionModel("1", "Salary", 1000, TransactionType.INCOME, 0));
+        store.put(new TransactionModel("2", "Rent", 400, TransactionType.EXPENSE, 0));
+        Recorder<TransactionTotals> result = new Recorder<>();
+
+        repository.getTotals(result);
+
+        assertEquals(1000, result.value.getIncome());
+        assertEquals(400, result.value.getExpense());
+        assertEquals(600, result.value.getBalance());
+    }
+
+    @Test
+    public void refresh_appliesRemoteDeletes() {
+        remote.serverWrite(new TransactionModel("1", "Salary", 1000, TransactionType.INCOME, 0));
+        repository.refresh(new Recorder<>());
+        TransactionModel tombstone = new TransactionModel("1", null, 0, null, 0);
+        tombstone.setDeleted(true);
+        remote.serverWrite(tombstone);
+
+        repository.refresh(new Recorder<>());
+
+        assertNull(store.get("1"));
+    }
+
+    @Test
+    public void refresh_reportsRemoteFailureAndKeepsLocalData() {
+        store.put(new TransactionModel("1", "Salary", 1000, TransactionType.INCOME, 0));
+        remote.failure = new Exception("offline");
+        Recorder<Void> result = new Recorder<>();
+
+        repository.refresh(result);
+
+        assertNotNull(result.error);
+        assertEquals(1, store.rows.size());
+    }
+
+    @Test
+    public void delete_removesLocallyAndRemotely() {
+        TransactionModel model = new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 0);
+        repository.add(model, new Recorder<>());
+
+        repository.delete("1", new Recorder<>());
+        scheduler.runPending();
+
+        assertNull(store.get("1"));
+        assertTrue(remote.documents.get("1").isDeleted());
+    }
+
+    @Test
+    public void rangeTotals_followWritesAfterTheFirstQuery() {
+        long day = 1_700_000_000_000L;
+        repository.add(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, day, "Food"), new Recorder<>());
+        Recorder<TransactionTotals> before = new Recorder<>();
+        repository.getRangeTotals(day, day, before);
+
+        repository.add(new TransactionModel("2", "Dinner", 70, TransactionType.EXPENSE, day, "Food"), new Recorder<>());
+        repository.delete("1", new Recorder<>());
+        Recorder<List<CategoryTotal>> after = new Recorder<>();
+        repository.getCategoryTotals(TransactionType.EXPENSE, day, day, after);
+
+        assertEquals(50, before.value.getExpense());
+        assertEquals(1, after.value.size());
+        assertEquals(70, after.value.get(0).getAmount());
+    }
+
+    @Test
+    public void rangeTotals_tableAnswersTheFirstQueryLikeTheTrees() {
+        long morning = at(2024, Calendar.MAY, 2, 1);
+        long night = at(2024, Calendar.MAY, 2, 23);
+        long noon = at(2024, Calendar.MAY, 2, 12);
+        repository.add(new TransactionModel("1", "Coffee", 50, TransactionType.EXPENSE, morning, "Food"), new Recorder<>());
+        repository.add(new TransactionModel("2", "Dinner", 70, TransactionType.EXPENSE, night, "Food"), new Recorder<>());
+        repository.add(new TransactionModel("3", "No date", 999, TransactionType.EXPENSE, 0, "Food"), new Recorder<>());
+        Recorder<TransactionTotals> cold = new Recorder<>();
+        Recorder<TransactionTotals> warm = new Recorder<>();
+        Recorder<List<CategoryTotal>> allTime = new Recorder<>();
+
+        repository.getRangeTotals(noon, noon, cold);
+        repository.getRangeTotals(noon, noon, warm);
+        repository.getCategoryTotals(TransactionType.EXPENSE, Long.MIN_VALUE, Long.MAX_VALUE, allTime);
+
+        assertEquals(120, cold.value.getExpense());
+        assertEquals(120, warm.value.getExpense());
+        assertEquals(120, allTime.value.get(0).getAmount());
+    }
+
+    @Test
+    public void categoryPages_filterOneCategoryOfOneType() {
+        repository.add(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 1, "Food"), new Recorder<>());
+        repository.add(new TransactionModel("2", "Rent", 900, TransactionType.EXPENSE, 2, "Home"), new Recorder<>());
+        repository.add(new TransactionModel("3", "Dinner", 70, TransactionType.EXPENSE, 3, "Food"), new Recorder<>());
+        repository.add(new TransactionModel("4", "Refund", 20, TransactionType.INCOME, 4, "Food"), new Recorder<>());
+        Recorder<List<TransactionModel>> food = new Recorder<>();
+        Recorder<List<String>> categories = new Recorder<>();
+
+        repository.loadCategoryPage(TransactionType.EXPENSE, "Food", null, 10, food);
+        repository.getCategories(categories);
+
+        assertEquals(2, food.value.size());
+        assertEquals("3", food.value.get(0).getId());
+        assertEquals("1", food.value.get(1).getId());
+        assertEquals(2, categories.value.size());
+        assertEquals("Food", categories.value.get(0));
+    }
+
+    private static long at(int year, int month, int day, int hour) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day, hour, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    static class Recorder<T> implements TransactionRepository.Callback<T> {
+        T value;
+        Exception error;
+        boolean succeeded;
+
+        @Override
+        public void onSuccess(T result) {
+            value = result;
+            succeeded = true;
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            error = e;
+        }
+    }
+}
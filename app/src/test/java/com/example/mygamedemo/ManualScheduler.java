@@ -0,0 +1,25 @@
+package com.example.mygamedemo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Holds scheduled tasks until the test runs them
+class ManualScheduler implements OutboxFlusher.Scheduler {
+    final List<Runnable> tasks = new ArrayList<>();
+    final List<Long> delays = new ArrayList<>();
+
+    @Override
+    public void schedule(Runnable task, long delayMillis) {
+        tasks.add(task);
+        delays.add(delayMillis);
+    }
+
+    // Runs what is due now; tasks scheduled while running wait for the next call
+    void runPending() {
+        List<Runnable> due = new ArrayList<>(tasks);
+        tasks.clear();
+        for (Runnable task : due) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.mygamedemo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MoneyTest {
+    @Test
+    public void parse_wholeAmountsBecomeMinorUnits() {
+        assertEquals(15000, Money.parse("150"));
+        assertEquals(15000, Money.parse(" 150 "));
+    }
+
+    @Test
+    public void parse_acceptsUpToTwoDecimals() {
+        assertEquals(1250, Money.parse("12.5"));
+        assertEquals(1205, Money.parse("12.05"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parse_rejectsSubMinorPrecision() {
+        Money.parse("1.005");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parse_rejectsText() {
+        Money.parse("abc");
+    }
+
+    @Test
+    public void format_dropsZeroCents() {
+        assertEquals("150", Money.format(15000));
+        assertEquals("12.50", Money.format(1250));
+        assertEquals("12.05", Money.format(1205));
+        assertEquals("-0.50", Money.format(-50));
+    }
+}
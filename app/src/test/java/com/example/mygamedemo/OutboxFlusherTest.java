@@ -0,0 +1,99 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OutboxFlusherTest {
+    private InMemoryTransactionStore store;
+    private FakeRemoteTransactionSource remote;
+    private ManualScheduler scheduler;
+    private OutboxFlusher flusher;
+    private final List<String> synced = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        store = new InMemoryTransactionStore();
+        remote = new FakeRemoteTransactionSource();
+        scheduler = new ManualScheduler();
+        flusher = new OutboxFlusher(store, remote, Runnable::run, scheduler, synced::addAll);
+    }
+
+    @Test
+    public void requestFlush_coalescesUntilTheDelayRuns() {
+        store.queuePut(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 0));
+        flusher.requestFlush();
+        store.queuePut(new TransactionModel("2", "Taxi", 20, TransactionType.EXPENSE, 0));
+        flusher.requestFlush();
+
+        assertEquals(1, scheduler.tasks.size());
+        assertEquals(OutboxFlusher.FLUSH_DELAY_MS, (long) scheduler.delays.get(0));
+
+        scheduler.runPending();
+
+        assertEquals(1, remote.commitCount);
+        assertEquals(2, synced.size());
+        assertTrue(store.outbox.isEmpty());
+    }
+
+    @Test
+    public void flush_splitsLargeOutboxIntoBatches() {
+        for (int i = 0; i < OutboxFlusher.MAX_BATCH_SIZE + 1; i++) {
+            store.queuePut(new TransactionModel("id" + i, "note", 1, TransactionType.EXPENSE, i));
+        }
+
+        flusher.requestFlush();
+        scheduler.runPending();
+
+        assertEquals(2, remote.commitCount);
+        assertEquals(OutboxFlusher.MAX_BATCH_SIZE + 1, remote.documents.size());
+    }
+
+    @Test
+    public void flush_uploadsDeletesAsTombstones() {
+        store.queuePut(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 0));
+        store.queueDelete("1");
+
+        flusher.requestFlush();
+        scheduler.runPending();
+
+        assertEquals(1, remote.commitCount);
+        assertTrue(remote.documents.get("1").isDeleted());
+    }
+
+    @Test
+    public void flush_backsOffAfterFailures() {
+        remote.failure = new Exception("unavailable");
+        store.queuePut(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 0));
+        flusher.requestFlush();
+
+        scheduler.runPending();
+        scheduler.runPending();
+
+        assertEquals(2, remote.commitCount);
+        assertEquals(OutboxFlusher.BASE_RETRY_MS, (long) scheduler.delays.get(1));
+        assertEquals(OutboxFlusher.BASE_RETRY_MS * 2, (long) scheduler.delays.get(2));
+        assertTrue(store.outbox.containsKey("1"));
+
+        remote.failure = null;
+        scheduler.runPending();
+
+        assertTrue(store.outbox.isEmpty());
+        assertEquals("Lunch", remote.documents.get("1").getNote());
+    }
+
+    @Test
+    public void markSynced_keepsEntriesEditedDuringUpload() {
+        store.queuePut(new TransactionModel("1", "Lunch", 50, TransactionType.EXPENSE, 0));
+        List<OutboxEntry> uploading = store.getOutbox(OutboxFlusher.MAX_BATCH_SIZE);
+        store.queuePut(new TransactionModel("1", "Dinner", 80, TransactionType.EXPENSE, 0));
+
+        store.markSynced(uploading);
+
+        assertTrue(store.outbox.containsKey("1"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.mygamedemo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PieLayoutTest {
+
+    @Test
+    public void mergeSmall_keepsOrderAndDropsEmptySlices() {
+        List<ChartSlice> slices = PieLayout.mergeSmall(Arrays.asList(
+                new ChartSlice("Expense", 400), new ChartSlice("Empty", 0), new ChartSlice("Income", 1000)), "Other", 1);
+
+        assertEquals(2, slices.size());
+        assertEquals("Expense", slices.get(0).getLabel());
+        assertEquals("Income", slices.get(1).getLabel());
+    }
+
+    @Test
+    public void mergeSmall_foldsTailIntoOther() {
+        List<ChartSlice> input = new ArrayList<>();
+        input.add(new ChartSlice("Tiny", 1));
+        for (int i = 0; i < 30; i++) {
+            input.add(new ChartSlice("c" + i, 100 + i));
+        }
+        long total = 1;
+        for (int i = 0; i < 30; i++) {
+            total += 100 + i;
+        }
+
+        List<ChartSlice> slices = PieLayout.mergeSmall(input, "Other", 1);
+
+        assertEquals(PieLayout.MAX_SLICES, slices.size());
+        ChartSlice other = slices.get(slices.size() - 1);
+        assertEquals("Other", other.getLabel());
+        long sum = 0;
+        for (ChartSlice slice : slices) {
+            sum += slice.getValue();
+        }
+        assertEquals(total, sum);
+        // The largest categories are the ones kept
+        assertEquals("c19", slices.get(0).getLabel());
+        assertEquals("c29", slices.get(PieLayout.MAX_SLICES - 2).getLabel());
+    }
+
+    @Test
+    public void mergeSmall_singleSmallSliceKeepsItsName() {
+        List<ChartSlice> slices = PieLayout.mergeSmall(Arrays.asList(
+                new ChartSlice("Rent", 1000), new ChartSlice("Gum", 1)), "Other", 1);
+
+        assertEquals("Gum", slices.get(1).getLabel());
+    }
+
+    @Test
+    public void indexAt_binarySearchesCumulativeAngles() {
+        float[] ends = new float[PieLayout.MAX_SLICES];
+        PieLayout.computeEnds(Arrays.asList(
+                new ChartSlice("a", 1), new ChartSlice("b", 2), new ChartSlice("c", 1)), ends);
+
+        assertEquals(90f, ends[0], 0.001f);
+        assertEquals(270f, ends[1], 0.001f);
+        assertEquals(360f, ends[2], 0.001f);
+        assertEquals(0, PieLayout.indexAt(ends, 3, 0));
+        assertEquals(0, PieLayout.indexAt(ends, 3, 89.9f));
+        assertEquals(1, PieLayout.indexAt(ends, 3, 90));
+        assertEquals(2, PieLayout.indexAt(ends, 3, 359.9f));
+        assertEquals(-1, PieLayout.indexAt(ends, 3, 360));
+        assertEquals(-1, PieLayout.indexAt(ends, 0, 10));
+    }
+}
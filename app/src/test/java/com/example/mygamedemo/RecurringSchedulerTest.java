@@ -0,0 +1,105 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+public class RecurringSchedulerTest {
+    private InMemoryTransactionStore store;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryTransactionStore();
+    }
+
+    @Test
+    public void materializeDue_writesEachDuePeriodOnce() {
+        RecurringRule rent = rule("rent", at(2024, Calendar.JANUARY, 31));
+        store.putRecurringRule(rent);
+
+        assertEquals(3, RecurringScheduler.materializeDue(store, at(2024, Calendar.APRIL, 15)));
+        assertEquals(0, RecurringScheduler.materializeDue(store, at(2024, Calendar.APRIL, 15)));
+
+        // Shorter months get their last day, then the 31st again
+        assertEquals(at(2024, Calendar.FEBRUARY, 29), store.get(rent.getOccurrenceId(1)).getTimestamp());
+        assertEquals(at(2024, Calendar.MARCH, 31), store.get(rent.getOccurrenceId(2)).getTimestamp());
+        assertEquals(3, store.outbox.size());
+        assertEquals(3, store.recurringRules.get(rent.getId()).getNextPeriod());
+    }
+
+    @Test
+    public void materializeDue_neverBringsBackOrOverwritesAPeriod() {
+        RecurringRule salary = rule("salary", at(2024, Calendar.JANUARY, 5));
+        store.putRecurringRule(salary);
+        // Period 1 is already in the store, with an edited note
+        TransactionModel synced = salary.occurrence(1);
+        synced.setNote("salary + bonus");
+        store.put(synced);
+
+        RecurringScheduler.materializeDue(store, at(2024, Calendar.FEBRUARY, 10));
+        store.remove(salary.getOccurrenceId(0));
+        RecurringScheduler.materializeDue(store, at(2024, Calendar.FEBRUARY, 10));
+
+        assertNull(store.get(salary.getOccurrenceId(0)));
+        assertEquals("salary + bonus", store.get(salary.getOccurrenceId(1)).getNote());
+        assertFalse(store.outbox.containsKey(salary.getOccurrenceId(1)));
+    }
+
+    @Test
+    public void materializeDue_catchesUpOverSeveralRuns() {
+        RecurringRule weekly = new RecurringRule("recurring-gym", "gym", 100, TransactionType.EXPENSE, null,
+                RecurrenceFrequency.WEEKLY, at(2020, Calendar.JANUARY, 1), 0);
+        store.putRecurringRule(weekly);
+        long now = at(2021, Calendar.JANUARY, 1);
+
+        assertEquals(RecurringScheduler.MAX_PERIODS_PER_RUN, RecurringScheduler.materializeDue(store, now));
+        int total = RecurringScheduler.MAX_PERIODS_PER_RUN;
+        int written;
+        while ((written = RecurringScheduler.materializeDue(store, now)) > 0) {
+            total += written;
+        }
+
+        assertEquals(53, total);
+    }
+
+    @Test
+    public void repository_uploadsARunInOneCommit() {
+        FakeRemoteTransactionSource remote = new FakeRemoteTransactionSource();
+        ManualScheduler scheduler = new ManualScheduler();
+        TransactionRepository repository = new LocalFirstTransactionRepository(store, remote,
+                Runnable::run, Runnable::run, scheduler);
+        store.putRecurringRule(rule("rent", at(2024, Calendar.JANUARY, 1)));
+        store.putRecurringRule(rule("netflix", at(2024, Calendar.JANUARY, 20)));
+        LocalFirstTransactionRepositoryTest.Recorder<Integer> result = new LocalFirstTransactionRepositoryTest.Recorder<>();
+
+        repository.materializeRecurring(at(2024, Calendar.JUNE, 1), result);
+        scheduler.runPending();
+
+        assertEquals(Integer.valueOf(11), result.value);
+        assertEquals(1, remote.commitCount);
+        assertEquals(11, remote.documents.size());
+    }
+
+    @Test
+    public void ruleIdOf_recognizesOccurrences() {
+        RecurringRule rule = RecurringRule.create("rent", 1, TransactionType.EXPENSE, null, RecurrenceFrequency.MONTHLY, 0);
+
+        assertEquals(rule.getId(), RecurringRule.ruleIdOf(rule.getOccurrenceId(12)));
+        assertNull(RecurringRule.ruleIdOf("3f2b6c1e-8a9d-4e2f-9b0a-1c2d3e4f5a6b"));
+    }
+
+    private static RecurringRule rule(String note, long start) {
+        return new RecurringRule("recurring-" + note, note, 1000, TransactionType.EXPENSE, "Bills",
+                RecurrenceFrequency.MONTHLY, start, 0);
+    }
+
+    private static long at(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day, 9, 0);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.mygamedemo;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TransactionAdapterTest {
+    private static final DiffUtil.ItemCallback<TransactionModel> DIFF = TransactionAdapter.DIFF_CALLBACK;
+
+    @Test
+    public void sameIdWithNewAmount_isRebound() {
+        TransactionModel before = new TransactionModel("1", "Lunch", 5000, TransactionType.EXPENSE, 10, "Food");
+        TransactionModel after = new TransactionModel("1", "Lunch", 6000, TransactionType.EXPENSE, 10, "Food");
+
+        assertTrue(DIFF.areItemsTheSame(before, after));
+        assertFalse(DIFF.areContentsTheSame(before, after));
+        assertTrue(DIFF.areContentsTheSame(before,
+                new TransactionModel("1", "Lunch", 5000, TransactionType.EXPENSE, 10, "Food")));
+    }
+
+    @Test
+    public void stableId_dependsOnlyOnTheTransactionId() {
+        assertEquals(TransactionAdapter.stableId("3f2b6c1e-8a9d-4e2f-9b0a-1c2d3e4f5a6b"),
+                TransactionAdapter.stableId(new String("3f2b6c1e-8a9d-4e2f-9b0a-1c2d3e4f5a6b")));
+        assertNotEquals(TransactionAdapter.stableId("1"), TransactionAdapter.stableId("2"));
+        assertNotEquals(TransactionAdapter.stableId("csv_a"), TransactionAdapter.stableId("csv_b"));
+    }
+
+    @Test
+    public void deletedRow_isOneRemoval() {
+        List<TransactionModel> before = Arrays.asList(
+                new TransactionModel("1", "Rent", 40000, TransactionType.EXPENSE, 30, "Home"),
+                new TransactionModel("2", "Lunch", 5000, TransactionType.EXPENSE, 20, "Food"),
+                new TransactionModel("3", "Salary", 100000, TransactionType.INCOME, 10, "Work"));
+        // Fresh copies, as a reload from the store delivers them
+        List<TransactionModel> after = Arrays.asList(
+                new TransactionModel("1", "Rent", 40000, TransactionType.EXPENSE, 30, "Home"),
+                new TransactionModel("3", "Salary", 100000, TransactionType.INCOME, 10, "Work"));
+
+        assertEquals(Collections.singletonList("removed 1+1"), diff(before, after));
+    }
+
+    private static List<String> diff(List<TransactionModel> before, List<TransactionModel> after) {
+        List<String> updates = new ArrayList<>();
+        DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return before.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return after.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return DIFF.areItemsTheSame(before.get(oldPosition), after.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return DIFF.areContentsTheSame(before.get(oldPosition), after.get(newPosition));
+            }
+        }).dispatchUpdatesTo(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                updates.add("inserted " + position + "+" + count);
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                updates.add("removed " + position + "+" + count);
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                updates.add("moved " + fromPosition + ">" + toPosition);
+            }
+
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                updates.add("changed " + position + "+" + count);
+            }
+        });
+        return updates;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class TransactionAggregatesTest {
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Asia/Ho_Chi_Minh");
+
+    private TransactionAggregates aggregates;
+
+    @Before
+    public void setUp() {
+        aggregates = new TransactionAggregates(ZONE);
+    }
+
+    @Test
+    public void rangeTotals_coverWholeLocalDays() {
+        // 23:30 local time is still the 5th even though it is the 5th 16:30 UTC
+        add("1", at(2024, Calendar.JANUARY, 5, 23), 1000, TransactionType.EXPENSE, "Food");
+        add("2", at(2024, Calendar.JANUARY, 6, 0), 2000, TransactionType.EXPENSE, "Food");
+        add("3", at(2024, Calendar.JANUARY, 20, 9), 50000, TransactionType.INCOME, "Work");
+
+        TransactionTotals fifth = aggregates.getTotals(at(2024, Calendar.JANUARY, 5, 8), at(2024, Calendar.JANUARY, 5, 9));
+        assertEquals(1000, fifth.getExpense());
+        TransactionTotals month = aggregates.getTotals(at(2024, Calendar.JANUARY, 1, 0), at(2024, Calendar.JANUARY, 31, 0));
+        assertEquals(50000, month.getIncome());
+        assertEquals(3000, month.getExpense());
+        assertEquals(0, aggregates.getTotals(at(2024, Calendar.FEBRUARY, 1, 0), Long.MAX_VALUE).getIncome());
+    }
+
+    @Test
+    public void categoryTotals_largestFirstWithUncategorizedAsNull() {
+        long day = at(2024, Calendar.MARCH, 1, 12);
+        add("1", day, 40000, TransactionType.EXPENSE, "Home");
+        add("2", day, 5000, TransactionType.EXPENSE, "Food");
+        add("3", day + 1000, 7000, TransactionType.EXPENSE, "Food");
+        add("4", day, 100, TransactionType.EXPENSE, "");
+        add("5", day, 100000, TransactionType.INCOME, "Work");
+
+        List<CategoryTotal> totals = aggregates.getCategoryTotals(TransactionType.EXPENSE, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        assertEquals(3, totals.size());
+        assertEquals("Home", totals.get(0).getCategory());
+        assertEquals(12000, totals.get(1).getAmount());
+        assertNull(totals.get(2).getCategory());
+        assertEquals(12000, aggregates.getCategoryTotal(TransactionType.EXPENSE, "Food", day, day));
+        assertEquals(0, aggregates.getCategoryTotal(TransactionType.INCOME, "Food", day, day));
+    }
+
+    @Test
+    public void categoryTotals_trimNamesLikeTheStore() {
+        long day = at(2024, Calendar.MARCH, 1, 12);
+        add("1", day, 5000, TransactionType.EXPENSE, "Food");
+        add("2", day, 7000, TransactionType.EXPENSE, "Food ");
+        add("3", day, 100, TransactionType.EXPENSE, "  ");
+
+        List<CategoryTotal> totals = aggregates.getCategoryTotals(TransactionType.EXPENSE, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        assertEquals(2, totals.size());
+        assertEquals("Food", totals.get(0).getCategory());
+        assertEquals(12000, totals.get(0).getAmount());
+        assertNull(totals.get(1).getCategory());
+        assertEquals(12000, aggregates.getCategoryTotal(TransactionType.EXPENSE, " Food", Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void rowChanges_moveAmountsBetweenBuckets() {
+        long january = at(2024, Calendar.JANUARY, 10, 12);
+        long february = at(2024, Calendar.FEBRUARY, 10, 12);
+        TransactionModel lunch = new TransactionModel("1", "Lunch", 5000, TransactionType.EXPENSE, january, "Food");
+        aggregates.onRowChanged(null, lunch);
+
+        TransactionModel moved = new TransactionModel("1", "Lunch", 6000, TransactionType.EXPENSE, february, "Dining");
+        aggregates.onRowChanged(lunch, moved);
+
+        assertEquals(0, aggregates.getTotals(january, january).getExpense());
+        assertEquals(6000, aggregates.getTotals(february, february).getExpense());
+        assertEquals(0, aggregates.getCategoryTotal(TransactionType.EXPENSE, "Food", january, february));
+
+        aggregates.onRowChanged(moved, null);
+        assertEquals(0, aggregates.getTotals(Long.MIN_VALUE, Long.MAX_VALUE).getExpense());
+    }
+
+    @Test
+    public void range_growsInBothDirectionsKeepingSums() {
+        long middle = at(2024, Calendar.JUNE, 1, 12);
+        add("1", middle, 100, TransactionType.EXPENSE, null);
+        // Years before and after the initial window force both kinds of regrow
+        add("2", at(2019, Calendar.JUNE, 1, 12), 200, TransactionType.EXPENSE, null);
+        add("3", at(2031, Calendar.JUNE, 1, 12), 400, TransactionType.EXPENSE, "Car");
+        add("4", middle, 800, TransactionType.EXPENSE, null);
+
+        assertEquals(1500, aggregates.getTotals(Long.MIN_VALUE, Long.MAX_VALUE).getExpense());
+        assertEquals(900, aggregates.getTotals(middle, middle).getExpense());
+        assertEquals(200, aggregates.getTotals(Long.MIN_VALUE, at(2020, Calendar.JANUARY, 1, 0)).getExpense());
+        assertEquals(400, aggregates.getCategoryTotal(TransactionType.EXPENSE, "Car", middle, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void build_scansTheTable() {
+        InMemoryTransactionStore store = new InMemoryTransactionStore();
+        long day = at(2024, Calendar.MAY, 2, 12);
+        store.put(new TransactionModel("1", "Salary", 100000, TransactionType.INCOME, day, "Work"));
+        store.put(new TransactionModel("2", "Rent", 40000, TransactionType.EXPENSE, day, "Home"));
+
+        TransactionAggregates built = TransactionAggregates.build(TransactionTable.build(store));
+
+        TransactionTotals totals = built.getTotals(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(store.getTotals().getIncome(), totals.getIncome());
+        assertEquals(store.getTotals().getExpense(), totals.getExpense());
+    }
+
+    private void add(String id, long timestamp, long amount, TransactionType type, String category) {
+        aggregates.onRowChanged(null, new TransactionModel(id, "", amount, type, timestamp, category));
+    }
+
+    private static long at(int year, int month, int day, int hour) {
+        Calendar calendar = Calendar.getInstance(ZONE);
+        calendar.clear();
+        calendar.set(year, month, day, hour, 30);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.mygamedemo;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.Observer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TransactionCacheTest {
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private FakeRemoteTransactionSource remote;
+    private ManualScheduler scheduler;
+    private TransactionCache cache;
+    private final Observer<Object> ignore = value -> { };
+
+    @Before
+    public void setUp() {
+        InMemoryTransactionStore store = new InMemoryTransactionStore();
+        for (int i = 0; i < 3; i++) {
+            store.put(new TransactionModel("id" + i, "note", 100, TransactionType.EXPENSE, i + 1));
+        }
+        remote = new FakeRemoteTransactionSource();
+        scheduler = new ManualScheduler();
+        TransactionRepository repository = new LocalFirstTransactionRepository(store, remote,
+                Runnable::run, Runnable::run, new ManualScheduler());
+        cache = new TransactionCache(repository, scheduler);
+    }
+
+    @Test
+    public void tabSwitch_reusesLoadedStateAndOneListener() {
+        cache.getHistory(null).observeForever(ignore);
+        cache.getTotals().observeForever(ignore);
+        List<TransactionModel> loaded = cache.getHistory(null).getValue();
+        assertEquals(3, loaded.size());
+        assertEquals(300, cache.getTotals().getValue().getExpense());
+
+        // The next screen starts before the previous one stops
+        Observer<Object> next = value -> { };
+        cache.getHistory(null).observeForever(next);
+        cache.getHistory(null).removeObserver(ignore);
+        cache.getTotals().removeObserver(ignore);
+
+        assertSame(loaded, cache.getHistory(null).getValue());
+        assertEquals(1, remote.listeners.size());
+        assertTrue(scheduler.tasks.isEmpty());
+    }
+
+    @Test
+    public void liveChanges_updateHistoriesAndTotals() {
+        cache.getHistory(TransactionType.INCOME).observeForever(ignore);
+        cache.getTotals().observeForever(ignore);
+
+        remote.serverWrite(new TransactionModel("salary", "Salary", 5000, TransactionType.INCOME, 10));
+
+        assertEquals("salary", cache.getHistory(TransactionType.INCOME).getValue().get(0).getId());
+        assertEquals(5000, cache.getTotals().getValue().getIncome());
+    }
+
+    @Test
+    public void listener_lingersAfterTheLastScreenStops() {
+        cache.getTotals().observeForever(ignore);
+        cache.getTotals().removeObserver(ignore);
+
+        assertEquals(1, remote.listeners.size());
+        assertEquals(Long.valueOf(TransactionCache.LINGER_MS), scheduler.delays.get(0));
+        scheduler.runPending();
+        assertTrue(remote.listeners.isEmpty());
+
+        cache.getTotals().observeForever(ignore);
+        assertEquals(1, remote.listeners.size());
+    }
+
+    @Test
+    public void listener_keptWhenAScreenStartsWithinTheLinger() {
+        cache.getTotals().observeForever(ignore);
+        cache.getTotals().removeObserver(ignore);
+        cache.getTotals().observeForever(ignore);
+
+        scheduler.runPending();
+
+        assertEquals(1, remote.listeners.size());
+    }
+}
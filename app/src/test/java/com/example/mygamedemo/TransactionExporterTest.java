@@ -0,0 +1,83 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TransactionExporterTest {
+    private InMemoryTransactionStore store;
+    private TransactionExporter exporter;
+    private final List<Integer> progress = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        store = new InMemoryTransactionStore();
+        exporter = new TransactionExporter(store);
+    }
+
+    @Test
+    public void csv_quotesFieldsAndReimportsUnchanged() throws IOException {
+        store.put(new TransactionModel("1", "Coffee, \"large\"", 350, TransactionType.EXPENSE, 1704448800000L, "Food"));
+        store.put(new TransactionModel("2", "Salary", 100000, TransactionType.INCOME, 1704535200000L));
+
+        String csv = export(TransactionExporter.Format.CSV);
+
+        assertTrue(csv.startsWith("id,date,amount,type,note,category\n2,"));
+        assertTrue(csv.contains(",3.50,Expense,\"Coffee, \"\"large\"\"\",Food\n"));
+
+        InMemoryTransactionStore copy = new InMemoryTransactionStore();
+        new TransactionImporter(copy).importFrom(() -> new StringReader(csv), p -> {
+        });
+        TransactionModel coffee = copy.get("1");
+        assertEquals("Coffee, \"large\"", coffee.getNote());
+        assertEquals(350, coffee.getAmount());
+        assertEquals(TransactionType.EXPENSE, coffee.getType());
+        assertEquals(1704448800000L, coffee.getTimestamp());
+        assertEquals(TransactionType.INCOME, copy.get("2").getType());
+    }
+
+    @Test
+    public void json_writesEscapedArray() throws IOException {
+        store.put(new TransactionModel("1", "Line\nbreak \\ \"q\"", 1250, TransactionType.EXPENSE, 5));
+
+        String json = export(TransactionExporter.Format.JSON);
+
+        assertTrue(json.startsWith("[\n  {\"id\": \"1\", \"timestamp\": 5, "));
+        assertTrue(json.contains("\"amountMinor\": 1250, \"amount\": \"12.50\", \"type\": \"Expense\""));
+        assertTrue(json.contains("\"note\": \"Line\\nbreak \\\\ \\\"q\\\"\", \"category\": null}"));
+        assertTrue(json.endsWith("}\n]\n"));
+    }
+
+    @Test
+    public void json_emptyHistoryIsEmptyArray() throws IOException {
+        assertEquals("[]\n", export(TransactionExporter.Format.JSON));
+    }
+
+    @Test
+    public void export_walksAllPages() throws IOException {
+        int rows = TransactionExporter.PAGE_SIZE * 2 + 3;
+        for (int i = 0; i < rows; i++) {
+            store.put(new TransactionModel("id" + i, "note", 100, TransactionType.EXPENSE, i));
+        }
+
+        String csv = export(TransactionExporter.Format.CSV);
+
+        assertEquals(rows + 1, csv.split("\n").length);
+        assertEquals(3, progress.size());
+        assertEquals(rows, (int) progress.get(2));
+    }
+
+    private String export(TransactionExporter.Format format) throws IOException {
+        StringWriter out = new StringWriter();
+        int count = exporter.exportTo(() -> out, format, progress::add);
+        assertEquals(store.rows.size(), count);
+        return out.toString();
+    }
+}
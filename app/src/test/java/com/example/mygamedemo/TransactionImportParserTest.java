@@ -0,0 +1,97 @@
+package com.example.mygamedemo;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TransactionImportParserTest {
+
+    @Test
+    public void amount_decimalCommaInSemicolonFiles() throws IOException {
+        List<TransactionModel> rows = parse("Date;Description;Amount\n"
+                + "05.01.2024;Kaffee;-12,50\n"
+                + "06.01.2024;Miete;1.234,56\n");
+
+        assertEquals(1250, rows.get(0).getAmount());
+        assertEquals(TransactionType.EXPENSE, rows.get(0).getType());
+        assertEquals(123456, rows.get(1).getAmount());
+    }
+
+    @Test
+    public void amount_groupingCommaInCommaFiles() throws IOException {
+        List<TransactionModel> rows = parse("Date,Description,Amount\n"
+                + "2024-01-05,Rent,\"1,234.56\"\n"
+                + "2024-01-06,Coffee,\"-12,50\"\n"
+                + "2024-01-07,Car,\"12,000\"\n");
+
+        assertEquals(123456, rows.get(0).getAmount());
+        assertEquals(1250, rows.get(1).getAmount());
+        assertEquals(1200000, rows.get(2).getAmount());
+    }
+
+    @Test
+    public void date_patternIsChosenForTheWholeFile() throws IOException {
+        String dayFirst = "date,amount\n05/01/2024,-1\n13/01/2024,-1\n";
+        String monthFirst = "date,amount\n05/01/2024,-1\n01/13/2024,-1\n";
+
+        assertEquals(day(2024, Calendar.JANUARY, 5), parse(dayFirst).get(0).getTimestamp());
+        assertEquals(day(2024, Calendar.MAY, 1), parse(monthFirst).get(0).getTimestamp());
+    }
+
+    @Test
+    public void date_compactDigitsAndEpochMillis() throws IOException {
+        long now = System.currentTimeMillis();
+        List<TransactionModel> rows = parse("date,amount\n20240105123000,-1\n20240106,-2\n" + now + ",-3\n");
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2024, Calendar.JANUARY, 5, 12, 30, 0);
+        assertEquals(calendar.getTimeInMillis(), rows.get(0).getTimestamp());
+        assertEquals(day(2024, Calendar.JANUARY, 6), rows.get(1).getTimestamp());
+        assertEquals(now, rows.get(2).getTimestamp());
+    }
+
+    @Test
+    public void date_implausibleMillisAreInvalidRows() throws IOException {
+        TransactionImportParser parser = new TransactionImportParser(new StringReader(
+                "date,amount\n99999999999999999999,-1\n9999999999999,-2\n2024-01-05,-3\n"));
+
+        assertEquals(300, parser.next().getAmount());
+        assertNull(parser.next());
+        assertEquals(2, parser.getInvalidRows());
+    }
+
+    @Test
+    public void identicalRows_getDistinctIdsPerDay() throws IOException {
+        List<TransactionModel> rows = parse("date,amount,note\n"
+                + "2024-01-05,-3,Coffee\n2024-01-05,-3,Coffee\n2024-01-06,-3,Coffee\n");
+
+        assertNotEquals(rows.get(0).getId(), rows.get(1).getId());
+        assertNotEquals(rows.get(1).getId(), rows.get(2).getId());
+        assertEquals(rows.get(0).getId(), parse("date,amount,note\n2024-01-05,-3,Coffee\n").get(0).getId());
+    }
+
+    private static List<TransactionModel> parse(String text) throws IOException {
+        TransactionImportParser parser = new TransactionImportParser(new StringReader(text));
+        List<TransactionModel> rows = new ArrayList<>();
+        TransactionModel row;
+        while ((row = parser.next()) != null) {
+            rows.add(row);
+        }
+        assertEquals(0, parser.getInvalidRows());
+        return rows;
+    }
+
+    private static long day(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day);
+        return calendar.getTimeInMillis();
+    }
+}
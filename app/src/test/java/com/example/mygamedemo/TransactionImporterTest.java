@@ -0,0 +1,122 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class TransactionImporterTest {
+    private static final String OFX = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS>\n"
+            + "<BANKACCTFROM><BANKID>1<ACCTID>12345</BANKACCTFROM><BANKTRANLIST>\n"
+            + "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240105120000[0:GMT]<TRNAMT>-12.50<FITID>A1<NAME>Coffee</STMTTRN>\n"
+            + "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20240106<TRNAMT>1000.00<FITID>A2<NAME>Salary<MEMO>January</STMTTRN>\n"
+            + "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n";
+
+    private InMemoryTransactionStore store;
+    private TransactionImporter importer;
+    private final List<TransactionImporter.Result> progress = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        store = new InMemoryTransactionStore();
+        importer = new TransactionImporter(store);
+    }
+
+    @Test
+    public void csv_mapsColumnsSignsAndQuotes() throws IOException {
+        TransactionImporter.Result result = importText("Date,Description,Amount,Category\n"
+                + "2024-01-05,\"Coffee, large\",-3.50,Food\n"
+                + "2024-01-06,Salary,\"1,000.00\",\n"
+                + "not a date,Broken,1\n");
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getInvalid());
+        TransactionModel coffee = find("Coffee, large");
+        assertEquals(350, coffee.getAmount());
+        assertEquals(TransactionType.EXPENSE, coffee.getType());
+        assertEquals("Food", coffee.getCategory());
+        assertEquals(TransactionType.INCOME, find("Salary").getType());
+        assertEquals(100000, find("Salary").getAmount());
+        assertEquals(2, store.outbox.size());
+    }
+
+    @Test
+    public void csv_reimportIsSkippedButIdenticalRowsAreKept() throws IOException {
+        String csv = "date;amount;note\n2024-01-05;-3;Coffee\n2024-01-05;-3;Coffee\n";
+
+        importText(csv);
+        TransactionImporter.Result again = importText(csv);
+
+        assertEquals(2, store.rows.size());
+        assertEquals(0, again.getImported());
+        assertEquals(2, again.getDuplicates());
+    }
+
+    @Test
+    public void csv_identicalRowsApartInAnUnsortedFileAreBothKept() throws IOException {
+        TransactionImporter.Result result = importText("date,amount,note\n"
+                + "2024-01-05,-3,Coffee\n2024-01-04,-8,Lunch\n2024-01-05,-3,Coffee\n");
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getDuplicates());
+        assertEquals(3, store.rows.size());
+    }
+
+    @Test
+    public void ofx_readsSgmlStatement() throws IOException {
+        TransactionImporter.Result result = importText(OFX);
+
+        assertEquals(2, result.getImported());
+        TransactionModel coffee = find("Coffee");
+        assertEquals(1250, coffee.getAmount());
+        assertEquals(TransactionType.EXPENSE, coffee.getType());
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        utc.clear();
+        utc.set(2024, Calendar.JANUARY, 5, 12, 0, 0);
+        assertEquals(utc.getTimeInMillis(), coffee.getTimestamp());
+        assertEquals(TransactionType.INCOME, find("Salary January").getType());
+        assertEquals(0, importText(OFX).getImported());
+    }
+
+    @Test
+    public void largeFile_isWrittenInChunksWithProgress() throws IOException {
+        StringBuilder csv = new StringBuilder("id,date,amount\n");
+        int rows = TransactionImporter.CHUNK_SIZE * 2 + 10;
+        for (int i = 0; i < rows; i++) {
+            csv.append("id").append(i).append(",2024-01-05,-1\n");
+        }
+
+        TransactionImporter.Result result = importText(csv.toString());
+
+        assertEquals(rows, result.getImported());
+        assertEquals(3, progress.size());
+        assertEquals(TransactionImporter.CHUNK_SIZE, progress.get(0).getImported());
+    }
+
+    @Test(expected = IOException.class)
+    public void csv_withoutAmountColumnIsRejected() throws IOException {
+        importText("date,note\n2024-01-05,Coffee\n");
+    }
+
+    private TransactionImporter.Result importText(String text) throws IOException {
+        progress.clear();
+        return importer.importFrom(() -> new StringReader(text), progress::add);
+    }
+
+    private TransactionModel find(String note) {
+        for (TransactionModel model : store.rows.values()) {
+            if (note.equals(model.getNote())) {
+                return model;
+            }
+        }
+        fail("No row with note " + note);
+        return null;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TransactionPagerTest {
+    private InMemoryTransactionStore store;
+    private TransactionPager pager;
+    private int lastStart;
+    private int lastCount;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryTransactionStore();
+        for (int i = 0; i < 25; i++) {
+            store.put(new TransactionModel("id" + i, "note", 100, TransactionType.EXPENSE, i));
+        }
+        TransactionRepository repository = new LocalFirstTransactionRepository(store,
+                new FakeRemoteTransactionSource(), Runnable::run, Runnable::run, new ManualScheduler());
+        pager = new TransactionPager(repository, 10, new TransactionPager.Listener() {
+            @Override
+            public void onPageLoaded(List<TransactionModel> items, int start, int count) {
+                lastStart = start;
+                lastCount = count;
+            }
+
+            @Override
+            public void onError(Exception e) {
+                fail(e.toString());
+            }
+        });
+    }
+
+    @Test
+    public void refresh_loadsFirstPageNewestFirst() {
+        pager.refresh();
+
+        assertEquals(10, pager.getItems().size());
+        assertEquals("id24", pager.getItems().get(0).getId());
+        assertEquals(0, lastStart);
+    }
+
+    @Test
+    public void loadNextPage_continuesAfterLastRow() {
+        pager.refresh();
+
+        pager.loadNextPage();
+
+        assertEquals(20, pager.getItems().size());
+        assertEquals("id14", pager.getItems().get(10).getId());
+        assertEquals(10, lastStart);
+        assertEquals(10, lastCount);
+    }
+
+    @Test
+    public void loadNextPage_stopsAtEnd() {
+        pager.refresh();
+        pager.loadNextPage();
+        pager.loadNextPage();
+
+        assertTrue(pager.isEndReached());
+        assertEquals(25, pager.getItems().size());
+        assertEquals("id0", pager.getItems().get(24).getId());
+    }
+
+    @Test
+    public void refresh_keepsDepthAlreadyScrolled() {
+        pager.refresh();
+        pager.loadNextPage();
+        store.put(new TransactionModel("new", "note", 100, TransactionType.INCOME, 100));
+
+        pager.refresh();
+
+        assertEquals(20, pager.getItems().size());
+        assertEquals("new", pager.getItems().get(0).getId());
+    }
+
+    @Test
+    public void applyChanges_mergesSmallBatchesInPlace() {
+        pager.refresh();
+        TransactionModel edited = new TransactionModel("id20", "edited", 100, TransactionType.EXPENSE, 50);
+        TransactionModel deleted = new TransactionModel("id23", "note", 100, TransactionType.EXPENSE, 23);
+        deleted.setDeleted(true);
+
+        pager.applyChanges(Arrays.asList(edited, deleted));
+
+        assertEquals(9, pager.getItems().size());
+        assertSame(edited, pager.getItems().get(0));
+        assertEquals("id24", pager.getItems().get(1).getId());
+        assertEquals("id22", pager.getItems().get(2).getId());
+    }
+
+    @Test
+    public void applyChanges_reloadsLargeBatchesFromTheStore() {
+        pager.refresh();
+        List<TransactionModel> batch = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            TransactionModel model = new TransactionModel("synced" + i, "note", 1, TransactionType.EXPENSE, 100 + i);
+            // The repository stores a live batch before handing it to the UI
+            store.put(model);
+            batch.add(model);
+        }
+        lastStart = -1;
+
+        pager.applyChanges(batch);
+
+        assertEquals(0, lastStart);
+        assertEquals(10, pager.getItems().size());
+        assertEquals("synced10", pager.getItems().get(0).getId());
+        assertEquals("synced1", pager.getItems().get(9).getId());
+    }
+
+    @Test
+    public void keysetPaging_handlesEqualTimestamps() {
+        store.rows.clear();
+        for (int i = 0; i < 15; i++) {
+            store.put(new TransactionModel("same" + (char) ('a' + i), "note", 1, TransactionType.EXPENSE, 5));
+        }
+
+        pager.refresh();
+        pager.loadNextPage();
+
+        assertEquals(15, pager.getItems().size());
+        assertTrue(pager.isEndReached());
+    }
+
+    @Test
+    public void typedPager_pagesOneTypeAndIgnoresOtherLiveChanges() {
+        for (int i = 0; i < 12; i++) {
+            store.put(new TransactionModel("in" + i, "salary", 500, TransactionType.INCOME, 100 + i));
+        }
+        TransactionRepository repository = new LocalFirstTransactionRepository(store,
+                new FakeRemoteTransactionSource(), Runnable::run, Runnable::run, new ManualScheduler());
+        TransactionPager incomes = new TransactionPager(repository, TransactionType.INCOME, 10, new TransactionPager.Listener() {
+            @Override
+            public void onPageLoaded(List<TransactionModel> items, int start, int count) {
+            }
+
+            @Override
+            public void onError(Exception e) {
+                fail(e.toString());
+            }
+        });
+
+        incomes.refresh();
+        incomes.loadNextPage();
+        incomes.applyChanges(Arrays.asList(
+                new TransactionModel("out", "lunch", 1, TransactionType.EXPENSE, 200),
+                new TransactionModel("in11", "salary", 500, TransactionType.EXPENSE, 111)));
+
+        assertTrue(incomes.isEndReached());
+        assertEquals(11, incomes.getItems().size());
+        for (TransactionModel model : incomes.getItems()) {
+            assertEquals(TransactionType.INCOME, model.getType());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TransactionSearchIndexTest {
+    private TransactionSearchIndex index;
+
+    @Before
+    public void setUp() {
+        index = new TransactionSearchIndex();
+        add("1", "Cà phê sữa đá", 2500, TransactionType.EXPENSE, 1000, "Đồ uống");
+        add("2", "Coffee beans", 12050, TransactionType.EXPENSE, 2000, "Groceries");
+        add("3", "Salary January", 1000000, TransactionType.INCOME, 3000, "Work");
+        add("4", "Coffee with Lan", 4000, TransactionType.EXPENSE, 4000, null);
+    }
+
+    @Test
+    public void tokenize_foldsAccentsAndKeepsNumbersWhole() {
+        assertEquals(Arrays.asList("ca", "phe", "sua", "da", "12.50", "on", "05/01/2024"),
+                TransactionSearchIndex.tokenize("Cà phê SỮA đá, 12.50 on 05/01/2024."));
+    }
+
+    @Test
+    public void search_matchesPrefixesWithoutAccents() {
+        assertEquals(Arrays.asList("1"), ids(index.search("ca ph", null, 10)));
+        assertEquals(Arrays.asList("1"), ids(index.search("do uong", null, 10)));
+        assertEquals(Arrays.asList("2"), ids(index.search("120", null, 10)));
+    }
+
+    @Test
+    public void search_requiresEveryTermAndRanksExactMatchesFirst() {
+        add("5", "Coffeemaker", 90000, TransactionType.EXPENSE, 9000, null);
+
+        // "coffee" is exact for 2 and 4 (newest first among them), only a prefix of "coffeemaker"
+        assertEquals(Arrays.asList("4", "2", "5"), ids(index.search("coffee", null, 10)));
+        assertEquals(Arrays.asList("4"), ids(index.search("coffee lan", null, 10)));
+        assertEquals(Arrays.asList("4", "2"), ids(index.search("coffee", null, 2)));
+        assertTrue(index.search("coffee salary", null, 10).isEmpty());
+    }
+
+    @Test
+    public void search_filtersByType() {
+        assertTrue(index.search("salary", TransactionType.EXPENSE, 10).isEmpty());
+        assertEquals(Arrays.asList("3"), ids(index.search("sal", TransactionType.INCOME, 10)));
+    }
+
+    @Test
+    public void search_findsTheDateAsTheListShowsIt() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2024, Calendar.JANUARY, 5, 9, 30);
+        add("7", "Taxi", 300, TransactionType.EXPENSE, calendar.getTimeInMillis(), null);
+
+        assertEquals(Arrays.asList("7"), ids(index.search(TransactionDates.format(calendar.getTimeInMillis()), null, 10)));
+        assertEquals(Arrays.asList("7"), ids(index.search("05 01 2024", null, 10)));
+    }
+
+    @Test
+    public void rowChanges_updateTheIndex() {
+        TransactionModel old = index.search("beans", null, 1).get(0);
+        TransactionModel edited = new TransactionModel("2", "Tea leaves", 12050, TransactionType.EXPENSE, 2000, "Groceries");
+
+        index.onRowChanged(old, edited);
+        assertTrue(index.search("beans", null, 10).isEmpty());
+        assertEquals(Arrays.asList("2"), ids(index.search("tea", null, 10)));
+
+        index.onRowChanged(edited, null);
+        assertTrue(index.search("tea", null, 10).isEmpty());
+        assertEquals(3, index.size());
+        // The freed slot is reused
+        add("6", "Tea again", 100, TransactionType.EXPENSE, 5000, null);
+        assertEquals(Arrays.asList("6"), ids(index.search("tea", null, 10)));
+    }
+
+    @Test
+    public void build_indexesTheStore() {
+        InMemoryTransactionStore store = new InMemoryTransactionStore();
+        for (int i = 0; i < 200; i++) {
+            store.put(new TransactionModel("id" + i, "Lunch " + i, 100 + i, TransactionType.EXPENSE, i + 1));
+        }
+
+        TransactionSearchIndex built = TransactionSearchIndex.build(store);
+
+        assertEquals(200, built.size());
+        assertEquals(50, built.search("lunch", null, 50).size());
+        assertEquals("id199", built.search("lunch", null, 50).get(0).getId());
+        assertEquals(Arrays.asList("id42"), ids(built.search("lunch 42", null, 50)));
+    }
+
+    private void add(String id, String note, long amount, TransactionType type, long timestamp, String category) {
+        index.onRowChanged(null, new TransactionModel(id, note, amount, type, timestamp, category));
+    }
+
+    private static List<String> ids(List<TransactionModel> models) {
+        String[] ids = new String[models.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = models.get(i).getId();
+        }
+        return Arrays.asList(ids);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TransactionTableTest {
+    private TransactionTable table;
+
+    @Before
+    public void setUp() {
+        table = new TransactionTable();
+        table.onRowChanged(null, new TransactionModel("1", "rent", 40000, TransactionType.EXPENSE, 30, "Home"));
+        table.onRowChanged(null, new TransactionModel("2", "lunch", 5000, TransactionType.EXPENSE, 10, "Food"));
+        table.onRowChanged(null, new TransactionModel("3", "salary", 100000, TransactionType.INCOME, 20, "Work"));
+        table.onRowChanged(null, new TransactionModel("4", "dinner", 7000, TransactionType.EXPENSE, 20, "Food"));
+        table.onRowChanged(null, new TransactionModel("5", "misc", 100, TransactionType.EXPENSE, 40, ""));
+    }
+
+    @Test
+    public void totals_coverAnInclusiveTimeRange() {
+        TransactionTotals all = table.getTotals(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(100000, all.getIncome());
+        assertEquals(52100, all.getExpense());
+
+        TransactionTotals middle = table.getTotals(20, 30);
+        assertEquals(100000, middle.getIncome());
+        assertEquals(47000, middle.getExpense());
+        assertEquals(0, table.getTotals(41, Long.MAX_VALUE).getExpense());
+    }
+
+    @Test
+    public void categoryTotals_groupByInternedIds() {
+        List<CategoryTotal> totals = table.getCategoryTotals(TransactionType.EXPENSE, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        assertEquals(3, totals.size());
+        assertEquals("Home", totals.get(0).getCategory());
+        assertEquals(12000, totals.get(1).getAmount());
+        assertNull(totals.get(2).getCategory());
+        assertEquals(100, totals.get(2).getAmount());
+        assertEquals(12000, table.sumByCategory(TransactionType.EXPENSE, 10, 20)[2]);
+        // Uncategorized, Home, Food, Work
+        assertEquals(4, table.getCategoryCount());
+        assertEquals("Food", table.getCategory(2));
+    }
+
+    @Test
+    public void categoryTotals_feedTheAggregates() {
+        TransactionAggregates aggregates = TransactionAggregates.build(table);
+
+        List<CategoryTotal> totals = aggregates.getCategoryTotals(TransactionType.EXPENSE, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(3, totals.size());
+        assertEquals("Home", totals.get(0).getCategory());
+        assertEquals(12000, totals.get(1).getAmount());
+        assertNull(totals.get(2).getCategory());
+        assertEquals(100, totals.get(2).getAmount());
+        assertEquals(100000, aggregates.getTotals(Long.MIN_VALUE, Long.MAX_VALUE).getIncome());
+    }
+
+    @Test
+    public void rowChanges_moveAndRemoveRows() {
+        TransactionModel lunch = new TransactionModel("2", "lunch", 5000, TransactionType.EXPENSE, 10, "Food");
+        TransactionModel moved = new TransactionModel("2", "lunch", 6000, TransactionType.EXPENSE, 50, "Food");
+
+        table.onRowChanged(lunch, moved);
+        assertEquals(0, table.getTotals(0, 19).getExpense());
+        assertEquals(6000, table.getTotals(50, 50).getExpense());
+
+        table.onRowChanged(moved, null);
+        assertEquals(4, table.size());
+        assertEquals(47100, table.getTotals(Long.MIN_VALUE, Long.MAX_VALUE).getExpense());
+    }
+
+    @Test
+    public void scan_replaysOldestFirst() {
+        List<Long> seen = new ArrayList<>();
+        table.scan((timestamp, type, amount, category) -> seen.add(timestamp));
+
+        assertEquals(5, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1) <= seen.get(i));
+        }
+    }
+
+    @Test
+    public void olderHistory_isSortedIntoPlaceOnScan() {
+        TransactionTable synced = new TransactionTable();
+        for (int i = 0; i < 1000; i++) {
+            synced.onRowChanged(null, new TransactionModel("id" + i, "note", 1, TransactionType.EXPENSE, 1000 - i, "c"));
+        }
+        // Removed while still in the unsorted part, and again after the sort
+        synced.onRowChanged(new TransactionModel("id10", "note", 1, TransactionType.EXPENSE, 990, "c"), null);
+        List<Long> seen = new ArrayList<>();
+        synced.scan((timestamp, type, amount, category) -> seen.add(timestamp));
+        synced.onRowChanged(new TransactionModel("id20", "note", 1, TransactionType.EXPENSE, 980, "c"), null);
+
+        assertEquals(999, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1) < seen.get(i));
+        }
+        assertFalse(seen.contains(990L));
+        assertEquals(998, synced.size());
+        assertEquals(998, synced.getTotals(Long.MIN_VALUE, Long.MAX_VALUE).getExpense());
+    }
+
+    @Test
+    public void build_matchesTheStore() {
+        InMemoryTransactionStore store = new InMemoryTransactionStore();
+        for (int i = 0; i < 600; i++) {
+            store.put(new TransactionModel("id" + i, "note", i, i % 3 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    1000 - i, "c" + i % 7));
+        }
+
+        TransactionTable built = TransactionTable.build(store);
+
+        assertEquals(600, built.size());
+        assertEquals(store.getTotals().getExpense(), built.getTotals(Long.MIN_VALUE, Long.MAX_VALUE).getExpense());
+    }
+}
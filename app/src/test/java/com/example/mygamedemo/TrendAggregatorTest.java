@@ -0,0 +1,77 @@
+package com.example.mygamedemo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+public class TrendAggregatorTest {
+    private InMemoryTransactionStore store;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryTransactionStore();
+    }
+
+    @Test
+    public void month_fillsEmptyBucketsWithZeros() {
+        store.put(new TransactionModel("1", "Salary", 1000, TransactionType.INCOME, time(2024, Calendar.JANUARY, 5)));
+        store.put(new TransactionModel("2", "Rent", 400, TransactionType.EXPENSE, time(2024, Calendar.JANUARY, 20)));
+        store.put(new TransactionModel("3", "Food", 50, TransactionType.EXPENSE, time(2024, Calendar.MARCH, 1)));
+        store.put(new TransactionModel("4", "Unknown date", 999, TransactionType.EXPENSE, 0));
+
+        TrendAggregator.Trend trend = TrendAggregator.aggregate(TransactionTable.build(store), TrendGranularity.MONTH);
+
+        assertEquals(3, trend.getIncome().size());
+        assertEquals(time(2024, Calendar.JANUARY, 1), trend.getIncome().getX()[0]);
+        assertEquals(time(2024, Calendar.FEBRUARY, 1), trend.getIncome().getX()[1]);
+        assertEquals(1000, trend.getIncome().getY()[0]);
+        assertEquals(400, trend.getExpense().getY()[0]);
+        assertEquals(0, trend.getExpense().getY()[1]);
+        assertEquals(50, trend.getExpense().getY()[2]);
+    }
+
+    @Test
+    public void week_startsOnFirstDayOfWeek() {
+        store.put(new TransactionModel("1", "a", 1, TransactionType.EXPENSE, time(2024, Calendar.JANUARY, 10)));
+
+        TrendAggregator.Trend trend = TrendAggregator.aggregate(TransactionTable.build(store), TrendGranularity.WEEK);
+
+        Calendar start = Calendar.getInstance();
+        start.setTimeInMillis(trend.getExpense().getX()[0]);
+        assertEquals(start.getFirstDayOfWeek(), start.get(Calendar.DAY_OF_WEEK));
+        assertTrue(trend.getExpense().getX()[0] <= time(2024, Calendar.JANUARY, 10));
+    }
+
+    @Test
+    public void downsample_keepsEndsAndPeaks() {
+        int days = 5 * 365;
+        for (int i = 0; i < days; i++) {
+            long amount = i == 1000 ? 1_000_000 : 100;
+            store.put(new TransactionModel("id" + i, "n", amount, TransactionType.EXPENSE, time(2020, Calendar.JANUARY, 1 + i)));
+        }
+        TrendSeries daily = TrendAggregator.aggregate(TransactionTable.build(store), TrendGranularity.DAY).getExpense();
+        assertEquals(days, daily.size());
+
+        TrendSeries sampled = daily.downsample(300);
+
+        assertEquals(300, sampled.size());
+        assertEquals(daily.getX()[0], sampled.getX()[0]);
+        assertEquals(daily.getX()[days - 1], sampled.getX()[299]);
+        boolean peakKept = false;
+        for (long y : sampled.getY()) {
+            peakKept |= y == 1_000_000;
+        }
+        assertTrue(peakKept);
+        assertSame(daily, daily.downsample(days));
+    }
+
+    private static long time(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day);
+        return calendar.getTimeInMillis();
+    }
+}
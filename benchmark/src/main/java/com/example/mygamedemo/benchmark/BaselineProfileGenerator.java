@@ -0,0 +1,33 @@
+package com.example.mygamedemo.benchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+// Collects the classes and methods used by startup and the main journeys. The baselineprofile
+// plugin copies the result into the app:
+// ./gradlew :app:generateBaselineProfile
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(Journeys.PACKAGE, scope -> {
+            Journeys.startAndWaitForHistory(scope);
+            Journeys.scrollHistory(scope);
+            Journeys.openTab(scope, "menu_expense", "type_recycler_view");
+            Journeys.openTab(scope, "menu_income", "type_recycler_view");
+            Journeys.openTab(scope, "menu_chart", "pieChartView");
+            Journeys.exerciseChart(scope);
+            Journeys.openTab(scope, "menu_home", "history_recycler_view");
+            return Unit.INSTANCE;
+        });
+    }
+}
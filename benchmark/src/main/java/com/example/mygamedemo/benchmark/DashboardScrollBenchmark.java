@@ -0,0 +1,43 @@
+package com.example.mygamedemo.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+// Frame times while flinging the paged history on the dashboard
+@RunWith(AndroidJUnit4.class)
+public class DashboardScrollBenchmark {
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void scrollHistory() {
+        benchmarkRule.measureRepeated(Journeys.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    Journeys.startAndWaitForHistory(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.scrollHistory(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.mygamedemo.benchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+// User journeys shared by the benchmarks and the baseline profile generator, so the profile covers
+// exactly what is measured. The app must have a signed-in account on the device: LoginActivity then
+// forwards straight to the tabs.
+final class Journeys {
+    static final String PACKAGE = "com.example.mygamedemo";
+    private static final long TIMEOUT_MS = 10_000;
+
+    private Journeys() {
+    }
+
+    // Launch through LoginActivity until the dashboard shows its history
+    static void startAndWaitForHistory(MacrobenchmarkScope scope) {
+        scope.startActivityAndWait();
+        waitFor(scope.getDevice(), "history_recycler_view");
+    }
+
+    static void scrollHistory(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 list = waitFor(device, "history_recycler_view");
+        // Keep clear of the system gesture areas
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < 3; i++) {
+            list.fling(Direction.DOWN);
+        }
+        list.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    static void openTab(MacrobenchmarkScope scope, String menuId, String contentId) {
+        UiDevice device = scope.getDevice();
+        waitFor(device, menuId).click();
+        waitFor(device, contentId);
+    }
+
+    // Ranges, category views and trend granularities: each tap redraws the pie or the trend chart
+    static void exerciseChart(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        String[] buttons = {"btn_range_month", "btn_range_30_days", "btn_range_all", "btn_income",
+                "btn_expense", "btn_reset", "btn_trend_day", "btn_trend_week", "btn_trend_month"};
+        for (String button : buttons) {
+            waitFor(device, button).click();
+            device.waitForIdle();
+        }
+    }
+
+    private static UiObject2 waitFor(UiDevice device, String resourceId) {
+        UiObject2 object = device.wait(Until.findObject(By.res(PACKAGE, resourceId)), TIMEOUT_MS);
+        if (object == null) {
+            throw new AssertionError(resourceId + " not shown; is an account signed in on the device?");
+        }
+        return object;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.mygamedemo.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import kotlin.Unit;
+
+// Cold start to first frame (timeToInitialDisplay) and to the first page of history
+// (timeToFullDisplay, reported by the dashboard), with and without the baseline profile. The
+// trace sections show how long the main thread spends on the first live update.
+// Run the benchmarkRelease variant: ./gradlew :benchmark:connectedBenchmarkReleaseAndroidTest
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void startupWithoutCompilation() {
+        startup(new CompilationMode.None());
+    }
+
+    @Test
+    public void startupWithBaselineProfile() {
+        startup(new CompilationMode.Partial(BaselineProfileMode.Require));
+    }
+
+    private void startup(CompilationMode compilationMode) {
+        benchmarkRule.measureRepeated(Journeys.PACKAGE,
+                Arrays.asList(new StartupTimingMetric(),
+                        new TraceSectionMetric("TransactionCache.applyChanges"),
+                        new TraceSectionMetric("FirestoreTransactionSource.decodeChanges")),
+                compilationMode,
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.startAndWaitForHistory(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}